@@ -0,0 +1,115 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Наполнение пустой БД через JDBC батчами. Объёмы выводятся из числа бронирований:
+ * вещей в 10 раз меньше, пользователей в 100 раз меньше, запросов — по одному на 10 вещей.
+ * ID идут подряд с 1 и задаются явно, на это опираются бенчмарки.
+ */
+public class BenchmarkData {
+    public static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "projector"};
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    private int users;
+    private int items;
+    private int bookingsPerItem;
+
+    public BenchmarkData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public BenchmarkData seed(int bookings) {
+        users = Math.max(100, bookings / 100);
+        items = Math.max(10, bookings / 10);
+        bookingsPerItem = Math.max(1, bookings / items);
+        int requests = Math.max(1, items / 10);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{"user" + i, "user" + i + "@bench.ru"});
+            rows = flush("INSERT INTO users (name, email) VALUES (?, ?)", rows, i == users);
+        }
+        for (int i = 1; i <= requests; i++) {
+            rows.add(new Object[]{i, "need a " + WORDS[i % WORDS.length], Timestamp.valueOf(now.minusMinutes(i)), userId(i)});
+            rows = flush("INSERT INTO requests (id, description, created, requester_id) VALUES (?, ?, ?, ?)", rows, i == requests);
+        }
+        for (int i = 1; i <= items; i++) {
+            rows.add(new Object[]{i, WORDS[i % WORDS.length] + " " + i, "good " + WORDS[i % WORDS.length] + " for rent",
+                    i % 20 != 0, ownerOf(i), i % 10 == 0 ? (Object) (i / 10) : null});
+            rows = flush("INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+                    rows, i == items);
+        }
+        long bookingId = 0;
+        for (int i = 1; i <= items; i++) {
+            for (int k = 0; k < bookingsPerItem; k++) {
+                LocalDateTime start = bookingStart(i, k);
+                rows.add(new Object[]{++bookingId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), i,
+                        ownerOf(i), bookerOf(i, k), k % 7 == 0 ? "WAITING" : "APPROVED"});
+                rows = flush("INSERT INTO bookings (id, start_date, end_date, item_id, owner_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                        rows, i == items && k == bookingsPerItem - 1);
+            }
+        }
+        restartSequence("requests_seq", requests);
+        restartSequence("items_seq", items);
+        restartSequence("bookings_seq", bookingId);
+        return this;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    public long ownerOf(long itemId) {
+        return userId(itemId);
+    }
+
+    public long bookerOf(long itemId, int k) {
+        long booker = userId(itemId + k + 1);
+        return booker == ownerOf(itemId) ? userId(itemId + k + 2) : booker;
+    }
+
+    /**
+     * Бронирования вещи идут через день: половина в прошлом, половина в будущем.
+     */
+    public LocalDateTime bookingStart(long itemId, int k) {
+        return now.minusDays(bookingsPerItem).plusDays(2L * k);
+    }
+
+    public int getBookingsPerItem() {
+        return bookingsPerItem;
+    }
+
+    private long userId(long n) {
+        return (n - 1) % users + 1;
+    }
+
+    /**
+     * ID вставлены явно, поэтому последовательность сдвигается за них, иначе Hibernate выдаст занятые.
+     */
+    private void restartSequence(String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+
+    private List<Object[]> flush(String sql, List<Object[]> rows, boolean last) {
+        if (rows.size() < BATCH_SIZE && !last) {
+            return rows;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечений в {@code BookingServiceImpl.add}: период накрывает будущее бронирование
+ * вещи, поэтому вызов завершается ValidationException и БД не меняется.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingServiceBenchmark {
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp(ShareItState state) {
+        bookingService = state.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public Object addConflicting(ShareItState state) {
+        BenchmarkData data = state.data;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long itemId = random.nextInt(data.getItems()) + 1;
+        int k = data.getBookingsPerItem() - 1;
+        LocalDateTime start = data.bookingStart(itemId, k).plusHours(1);
+        if (start.isBefore(LocalDateTime.now())) {
+            start = LocalDateTime.now().plusHours(1);
+        }
+        BookingDtoRequest request = new BookingDtoRequest(itemId, start, start.plusHours(2));
+        try {
+            return bookingService.add(data.bookerOf(itemId, k), request);
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+}
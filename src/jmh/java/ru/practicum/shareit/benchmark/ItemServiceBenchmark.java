@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+
+    private ItemRequestService itemRequestService;
+
+    @Setup
+    public void setUp(ShareItState state) {
+        itemService = state.getBean(ItemService.class);
+        itemRequestService = state.getBean(ItemRequestService.class);
+    }
+
+    @Benchmark
+    public List<ItemDtoResponse> getItemsByUserId(ShareItState state) {
+        long ownerId = ThreadLocalRandom.current().nextInt(state.data.getUsers()) + 1;
+        return itemService.getItemsByUserId(ownerId, 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDtoResponse> findItemsByText() {
+        String text = BenchmarkData.WORDS[ThreadLocalRandom.current().nextInt(BenchmarkData.WORDS.length)];
+        return itemService.findItemsByText(text, 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoResponse> getAvailableItemRequests(ShareItState state) {
+        long userId = ThreadLocalRandom.current().nextInt(state.data.getUsers()) + 1;
+        return itemRequestService.getAvailableItemRequests(userId, 0L, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * MapStruct-мапперы на сущностях в памяти, без обращения к БД.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+    private BookingMapper bookingMapper;
+
+    private ItemMapper itemMapper;
+
+    private Item item;
+
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp(ShareItState state) {
+        bookingMapper = state.getBean(BookingMapper.class);
+        itemMapper = state.getBean(ItemMapper.class);
+        User owner = new User(1L, "owner", "owner@bench.ru");
+        User booker = new User(2L, "booker", "booker@bench.ru");
+        item = new Item(1L, "drill 1", "good drill for rent", true, owner, null);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookings = LongStream.rangeClosed(1, 20)
+                .mapToObj(id -> new Booking(id, start.plusDays(id), start.plusDays(id + 1), item, booker, Status.APPROVED))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ItemDtoResponse itemToResponse() {
+        return itemMapper.toResponse(item);
+    }
+
+    @Benchmark
+    public BookingDtoResponse bookingToResponse() {
+        return bookingMapper.toBookingDtoResponse(bookings.get(0));
+    }
+
+    @Benchmark
+    public List<BookingDtoResponse> bookingPageToResponse() {
+        return bookingMapper.toBookingDtoResponseList(bookings);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.user.controller.dto.UserDtoResponse;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.repository.JpaUserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Чтение списков через сущности и маппер против проекции сразу в DTO. Разницу в аллокациях
+ * показывает профилировщик: {@code -prof gc}, строка {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final String OWNER_BOOKINGS = "SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker "
+            + "WHERE b.ownerId = :ownerId ORDER BY b.start DESC, b.id DESC";
+
+    private EntityManager entityManager;
+
+    private JpaBookingRepository bookingRepository;
+
+    private JpaUserRepository userRepository;
+
+    private BookingMapper bookingMapper;
+
+    private UserMapper userMapper;
+
+    private TransactionTemplate transaction;
+
+    @Setup
+    public void setUp(ShareItState state) {
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(state.getBean(EntityManagerFactory.class));
+        bookingRepository = state.getBean(JpaBookingRepository.class);
+        userRepository = state.getBean(JpaUserRepository.class);
+        bookingMapper = state.getBean(BookingMapper.class);
+        userMapper = state.getBean(UserMapper.class);
+        transaction = new TransactionTemplate(state.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(true);
+    }
+
+    @Benchmark
+    public List<BookingDtoResponse> ownerBookingsViaEntities(ShareItState state) {
+        long ownerId = randomUser(state);
+        return transaction.execute(status -> bookingMapper.toBookingDtoResponseList(
+                entityManager.createQuery(OWNER_BOOKINGS, Booking.class)
+                        .setParameter("ownerId", ownerId)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList()));
+    }
+
+    @Benchmark
+    public List<BookingDtoResponse> ownerBookingsViaProjection(ShareItState state) {
+        long ownerId = randomUser(state);
+        return transaction.execute(status -> bookingRepository.findPage(BookingRole.OWNER, ownerId,
+                ru.practicum.shareit.booking.model.State.ALL, LocalDateTime.now(), OffsetPageRequest.of(0L, PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<UserDtoResponse> usersViaEntities() {
+        return transaction.execute(status -> userRepository.findAll().stream()
+                .map(userMapper::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<UserDtoResponse> usersViaProjection() {
+        return transaction.execute(status -> userRepository.findAllResponses());
+    }
+
+    private long randomUser(ShareItState state) {
+        return ThreadLocalRandom.current().nextInt(state.data.getUsers()) + 1;
+    }
+}
@@ -0,0 +1,321 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Нагрузочный прогон без внешних зависимостей: поднимает приложение на случайном порту поверх H2 в памяти,
+ * наполняет её {@link SyntheticDataGenerator} и гоняет смешанную нагрузку по контроллерам через HTTP.
+ * В отчёте — пропускная способность и перцентили задержек по каждой операции.
+ * <p>
+ * Параметры в виде {@code --name=value}: {@code bookings} (10000), {@code seed} (42), {@code skew} (1.1),
+ * {@code threads} (8), {@code warmup} (PT10S), {@code duration} (PT30S) и {@code mix} — веса операций,
+ * например {@code --mix=item=30,search=15,book=0}.
+ */
+public class LoadDriver {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String baseUrl;
+    private final SyntheticDataGenerator.Dataset dataset;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+
+    LoadDriver(String baseUrl, SyntheticDataGenerator.Dataset dataset, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Сумма весов операций должна быть положительной");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int bookings = Integer.parseInt(options.getOrDefault("bookings", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double skew = Double.parseDouble(options.getOrDefault("skew", "1.1"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        Map<Operation, Integer> mix = Operation.mix(options.getOrDefault("mix", ""));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:shareit-load;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run()) {
+            long started = System.nanoTime();
+            SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), seed, skew)
+                    .generate(bookings);
+            System.out.printf("Данные: %s за %d мс%n", dataset, (System.nanoTime() - started) / 1_000_000);
+
+            LoadDriver driver = new LoadDriver("http://localhost:" + context.getEnvironment().getProperty("local.server.port"),
+                    dataset, mix);
+            driver.run(threads, warmup, seed);
+            System.out.printf("Прогрев %s завершён, замер %s в %d потоков%n", warmup, duration, threads);
+            driver.run(threads, duration, seed + 1).print(duration);
+        }
+    }
+
+    Report run(int threads, Duration duration, long seed) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Report>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(seed * 31 + t);
+                futures.add(executor.submit(() -> work(random, deadline)));
+            }
+            Report report = new Report();
+            for (Future<Report> future : futures) {
+                report.merge(future.get());
+            }
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Report work(Random random, long deadline) throws InterruptedException {
+        Report report = new Report();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random);
+            HttpRequest request = operation.request(dataset, random)
+                    .uri(URI.create(baseUrl + operation.path(dataset, random)))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long started = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            report.record(operation, System.nanoTime() - started, status);
+        }
+        return report;
+    }
+
+    private Operation pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Параметр должен иметь вид --name=value: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Операции нагрузки с весами по умолчанию. Пользователи и вещи выбираются по тому же степенному закону,
+     * по которому сгенерированы данные, так что горячие вещи и активные владельцы получают основную нагрузку.
+     */
+    enum Operation {
+        ITEM("item", 30) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/items/" + dataset.popularItem(random);
+            }
+        },
+        OWNER_ITEMS("owner-items", 15) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/items?from=0&size=20";
+            }
+
+            @Override
+            long user(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return dataset.ownerOf(dataset.popularItem(random));
+            }
+        },
+        SEARCH("search", 15) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/items/search?from=0&size=20&text="
+                        + SyntheticDataGenerator.WORDS[random.nextInt(SyntheticDataGenerator.WORDS.length)];
+            }
+        },
+        BOOKER_BOOKINGS("booker-bookings", 15) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/bookings?state=ALL&from=0&size=20";
+            }
+        },
+        OWNER_BOOKINGS("owner-bookings", 10) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/bookings/owner?state=FUTURE&from=0&size=20";
+            }
+
+            @Override
+            long user(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return dataset.ownerOf(dataset.popularItem(random));
+            }
+        },
+        REQUESTS("requests", 5) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/requests/all?from=0&size=20";
+            }
+        },
+        BOOK("book", 10) {
+            @Override
+            String path(SyntheticDataGenerator.Dataset dataset, Random random) {
+                return "/bookings";
+            }
+
+            @Override
+            HttpRequest.Builder request(SyntheticDataGenerator.Dataset dataset, Random random) {
+                long itemId = dataset.popularItem(random);
+                long booker = dataset.activeUser(random);
+                if (booker == dataset.ownerOf(itemId)) {
+                    booker = booker % dataset.getUsers() + 1;
+                }
+                LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1 + random.nextInt(365));
+                String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                        itemId, start, start.plusHours(1 + random.nextInt(48)));
+                return HttpRequest.newBuilder()
+                        .header(USER_HEADER, String.valueOf(booker))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body));
+            }
+        };
+
+        private final String key;
+        private final int weight;
+
+        Operation(String key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        abstract String path(SyntheticDataGenerator.Dataset dataset, Random random);
+
+        long user(SyntheticDataGenerator.Dataset dataset, Random random) {
+            return dataset.activeUser(random);
+        }
+
+        HttpRequest.Builder request(SyntheticDataGenerator.Dataset dataset, Random random) {
+            return HttpRequest.newBuilder()
+                    .header(USER_HEADER, String.valueOf(user(dataset, random)))
+                    .GET();
+        }
+
+        static Map<Operation, Integer> mix(String spec) {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (Operation operation : values()) {
+                mix.put(operation, operation.weight);
+            }
+            for (String part : spec.split(",")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                String[] pair = part.split("=");
+                Operation operation = Arrays.stream(values())
+                        .filter(o -> o.key.equals(pair[0].trim()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция: " + pair[0]));
+                mix.put(operation, Integer.parseInt(pair[1].trim()));
+            }
+            return mix;
+        }
+    }
+
+    /**
+     * Задержки по операциям в наносекундах. Каждый поток пишет в свой отчёт, в конце отчёты сливаются.
+     */
+    static class Report {
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> rejected = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> failed = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, int status) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+            if (status >= 400 && status < 500) {
+                rejected.merge(operation, 1, Integer::sum);
+            } else if (status < 200 || status >= 500) {
+                failed.merge(operation, 1, Integer::sum);
+            }
+        }
+
+        void merge(Report other) {
+            other.counts.forEach((operation, count) -> {
+                long[] values = Arrays.copyOf(other.latencies.get(operation), count);
+                for (long value : values) {
+                    record(operation, value, 200);
+                }
+            });
+            other.rejected.forEach((operation, count) -> rejected.merge(operation, count, Integer::sum));
+            other.failed.forEach((operation, count) -> failed.merge(operation, count, Integer::sum));
+        }
+
+        void print(Duration duration) {
+            double seconds = duration.toNanos() / 1e9;
+            System.out.printf("%-16s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+                    "операция", "запросов", "в сек", "4xx", "ошибок", "p50, мс", "p90, мс", "p99, мс", "max, мс");
+            long total = 0;
+            for (Map.Entry<Operation, Integer> entry : counts.entrySet()) {
+                Operation operation = entry.getKey();
+                int count = entry.getValue();
+                long[] sorted = Arrays.copyOf(latencies.get(operation), count);
+                Arrays.sort(sorted);
+                total += count;
+                System.out.printf("%-16s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n", operation.key, count,
+                        count / seconds, rejected.getOrDefault(operation, 0), failed.getOrDefault(operation, 0),
+                        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                        sorted[count - 1] / 1e6);
+            }
+            System.out.printf("%-16s %9d %9.1f%n", "всего", total, total / seconds);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
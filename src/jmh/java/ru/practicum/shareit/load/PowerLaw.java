@@ -0,0 +1,36 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Распределение Ципфа на рангах {@code 1..n}: вероятность ранга k пропорциональна {@code 1 / k^exponent}.
+ * Ранг 1 — самый популярный. Выборка — бинарный поиск по предпосчитанной функции распределения.
+ */
+public class PowerLaw {
+    private final double[] cdf;
+
+    public PowerLaw(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Число рангов должно быть положительным");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, exponent);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cdf.length - 1) + 1;
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
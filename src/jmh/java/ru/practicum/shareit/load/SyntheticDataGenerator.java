@@ -0,0 +1,191 @@
+package ru.practicum.shareit.load;
+
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Воспроизводимое наполнение пустой БД с перекосами, как в живом сервисе: популярность вещей и активность
+ * пользователей распределены по Ципфу, у немногих владельцев большая часть вещей, у популярных вещей длинная
+ * история бронирований. Тексты генерирует easy-random, всё остальное — {@link Random} с тем же зерном,
+ * поэтому одно зерно и одни объёмы дают одни и те же данные. ID в свежей БД идут подряд с 1.
+ */
+public class SyntheticDataGenerator {
+    public static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "projector",
+            "hammer", "grill", "scooter", "boat", "guitar", "speaker", "mixer", "vacuum"};
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final EasyRandom text;
+    private final double skew;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed, double skew) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+        this.text = new EasyRandom(new EasyRandomParameters()
+                .seed(seed)
+                .stringLengthRange(4, 12));
+        this.skew = skew;
+    }
+
+    /**
+     * Объёмы выводятся из числа бронирований: вещей в 10 раз меньше, пользователей в 50 раз меньше,
+     * запросов — по одному на 10 вещей, отзывы оставляют к пятой части завершённых бронирований.
+     */
+    public Dataset generate(int bookings) {
+        int users = Math.max(100, bookings / 50);
+        int items = Math.max(10, bookings / 10);
+        int requests = Math.max(1, items / 10);
+        PowerLaw userLaw = new PowerLaw(users, skew);
+        PowerLaw itemLaw = new PowerLaw(items, skew);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{capitalize(word()), "user" + i + "@load.ru"});
+            rows = flush("INSERT INTO users (name, email) VALUES (?, ?)", rows, i == users);
+        }
+        for (int i = 1; i <= requests; i++) {
+            rows.add(new Object[]{i, "need a " + WORDS[random.nextInt(WORDS.length)] + " " + word(),
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60))), userLaw.sample(random)});
+            rows = flush("INSERT INTO requests (id, description, created, requester_id) VALUES (?, ?, ?, ?)", rows, i == requests);
+        }
+        long[] owners = new long[items + 1];
+        for (int i = 1; i <= items; i++) {
+            owners[i] = userLaw.sample(random);
+            String word = WORDS[random.nextInt(WORDS.length)];
+            rows.add(new Object[]{i, word + " " + word(), word() + " " + word + " " + word() + " " + word(),
+                    random.nextInt(20) != 0, owners[i], random.nextInt(10) == 0 ? (Object) (random.nextInt(requests) + 1) : null});
+            rows = flush("INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+                    rows, i == items);
+        }
+
+        int[] perItem = new int[items + 1];
+        for (int k = 0; k < bookings; k++) {
+            perItem[itemLaw.sample(random)]++;
+        }
+        List<Object[]> comments = new ArrayList<>();
+        long bookingId = 0;
+        int commentCount = 0;
+        for (int i = 1; i <= items; i++) {
+            // две трети истории в прошлом, треть в будущем; брони идут без пересечений с паузами до суток
+            LocalDateTime start = now.minusHours(perItem[i] * 2L / 3 * 37);
+            for (int k = 0; k < perItem[i]; k++) {
+                LocalDateTime end = start.plusHours(2 + random.nextInt(47));
+                long booker = userLaw.sample(random);
+                if (booker == owners[i]) {
+                    booker = booker % users + 1;
+                }
+                Status status = status(end.isBefore(now));
+                rows.add(new Object[]{++bookingId, Timestamp.valueOf(start), Timestamp.valueOf(end), i, owners[i], booker, status.name()});
+                rows = flush("INSERT INTO bookings (id, start_date, end_date, item_id, owner_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                        rows, false);
+                if (status == Status.APPROVED && end.isBefore(now) && random.nextInt(5) == 0) {
+                    comments.add(new Object[]{++commentCount, word() + " " + word() + " " + word(), i, booker,
+                            Timestamp.valueOf(end.plusHours(1))});
+                    comments = flush("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                            comments, false);
+                }
+                start = end.plusHours(random.nextInt(25));
+            }
+        }
+        flush("INSERT INTO bookings (id, start_date, end_date, item_id, owner_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?, ?)", rows, true);
+        flush("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)", comments, true);
+        restartSequence("requests_seq", requests);
+        restartSequence("items_seq", items);
+        restartSequence("bookings_seq", bookingId);
+        restartSequence("comments_seq", commentCount);
+        return new Dataset(users, items, requests, bookings, commentCount, owners, userLaw, itemLaw);
+    }
+
+    private Status status(boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 85 ? Status.APPROVED : roll < 95 ? Status.REJECTED : Status.CANCELED;
+        }
+        return roll < 40 ? Status.WAITING : roll < 90 ? Status.APPROVED : Status.REJECTED;
+    }
+
+    private String word() {
+        return text.nextObject(String.class).toLowerCase();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private void restartSequence(String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+
+    private List<Object[]> flush(String sql, List<Object[]> rows, boolean last) {
+        if (rows.isEmpty() || rows.size() < BATCH_SIZE && !last) {
+            return rows;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return new ArrayList<>();
+    }
+
+    /**
+     * Итог генерации. Пользователи и вещи ранжированы по ID: чем меньше ID, тем активнее пользователь
+     * и популярнее вещь, так нагрузка повторяет перекос данных.
+     */
+    public static class Dataset {
+        private final int users;
+        private final int items;
+        private final int requests;
+        private final int bookings;
+        private final int comments;
+        private final long[] owners;
+        private final PowerLaw userLaw;
+        private final PowerLaw itemLaw;
+
+        Dataset(int users, int items, int requests, int bookings, int comments, long[] owners,
+                PowerLaw userLaw, PowerLaw itemLaw) {
+            this.users = users;
+            this.items = items;
+            this.requests = requests;
+            this.bookings = bookings;
+            this.comments = comments;
+            this.owners = owners;
+            this.userLaw = userLaw;
+            this.itemLaw = itemLaw;
+        }
+
+        public long activeUser(Random random) {
+            return userLaw.sample(random);
+        }
+
+        public long popularItem(Random random) {
+            return itemLaw.sample(random);
+        }
+
+        public long ownerOf(long itemId) {
+            return owners[(int) itemId];
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public int getItems() {
+            return items;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("пользователей %d, вещей %d, запросов %d, бронирований %d, отзывов %d",
+                    users, items, requests, bookings, comments);
+        }
+    }
+}
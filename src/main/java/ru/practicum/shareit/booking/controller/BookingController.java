@@ -2,6 +2,9 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,15 +15,25 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.pageable.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Validated
@@ -29,8 +42,10 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingServiceImpl bookingService;
+    private final BookingExportService exportService;
 
     private static final String DEFAULT_PAGE_SIZE = "10";
+    private static final int MAX_BATCH_SIZE = 1_000;
 
     @PostMapping
     public BookingDtoResponse add(@RequestHeader("X-Sharer-User-Id") long userId, @Valid @RequestBody BookingDtoRequest bookingDtoRequest) {
@@ -45,27 +60,73 @@ public class BookingController {
         return bookingService.approve(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public BookingBatchResult approveAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                         @RequestParam(name = "approved") boolean approved,
+                                         @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Positive Long> bookingIds) {
+        log.info("Получен запрос на смену статуса {} бронирований", bookingIds.size());
+        return bookingService.approveAll(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoResponse get(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable @Positive long bookingId) {
         log.info("Получен запрос на получение бронирования {} вещи ", bookingId);
         return bookingService.get(userId, bookingId);
     }
 
+    @GetMapping("/stats")
+    public Map<State, Long> getStats(@RequestHeader("X-Sharer-User-Id") long userId,
+                                     @RequestParam(defaultValue = "BOOKER") BookingRole role) {
+        log.info("Получен запрос на счётчики бронирований пользователя ID{} в роли {}", userId, role);
+        return bookingService.getStats(userId, role);
+    }
+
     @GetMapping
     public List<BookingDtoResponse> getAllByBooker(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                                    @RequestParam(name = "state", defaultValue = "ALL") State state,
                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
+                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size,
+                                                   @RequestParam(required = false) String cursor,
+                                                   HttpServletResponse response) {
         log.info("Получен запрос на получение всех бронирований пользователя ID{}", bookerId);
-        return bookingService.getAllByBooker(bookerId, state, from, size);
+        List<BookingDtoResponse> bookings = cursor == null
+                ? bookingService.getAllByBooker(bookerId, state, from, size)
+                : bookingService.getAllByBookerAfter(bookerId, state, PageCursor.decode(cursor), size);
+        setNextCursor(response, bookings, size);
+        return bookings;
     }
 
     @GetMapping("/owner")
     public List<BookingDtoResponse> getAllByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                                   @RequestParam(name = "state", defaultValue = "ALL") State state,
                                                   @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                  @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
+                                                  @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size,
+                                                  @RequestParam(required = false) String cursor,
+                                                  HttpServletResponse response) {
         log.info("Получен запрос на получение списка бронирований всех вещей пользователя ID{}", ownerId);
-        return bookingService.getAllByOwner(ownerId, state, from, size);
+        List<BookingDtoResponse> bookings = cursor == null
+                ? bookingService.getAllByOwner(ownerId, state, from, size)
+                : bookingService.getAllByOwnerAfter(ownerId, state, PageCursor.decode(cursor), size);
+        setNextCursor(response, bookings, size);
+        return bookings;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam(defaultValue = "BOOKER") BookingRole role,
+                                                        @RequestParam(defaultValue = "NDJSON") BookingExportFormat format) {
+        log.info("Получен запрос на выгрузку бронирований пользователя ID{} в роли {} в формате {}", userId, role, format);
+        StreamingResponseBody body = exportService.export(role, userId, format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings." + format.getExtension())
+                .body(body);
+    }
+
+    private void setNextCursor(HttpServletResponse response, List<BookingDtoResponse> bookings, Integer size) {
+        if (bookings.size() == size) {
+            BookingDtoResponse last = bookings.get(bookings.size() - 1);
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(last.getStart(), last.getId()).encode());
+        }
     }
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Итог пакетной смены статуса: изменённые бронирования, пропущенные ID (не найдены, чужие или уже
+ * подтверждены) и ожидающие бронирования, отклонённые из-за пересечения с подтверждёнными.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchResult {
+
+    private List<BookingDtoResponse> bookings;
+
+    private List<Long> skippedIds;
+
+    private List<Long> autoRejectedIds;
+}
@@ -21,4 +21,14 @@ public class BookingDtoResponse {
     private ItemDtoResponse item;
     private UserDtoResponse booker;
     private Status status;
+
+    /**
+     * Конструктор для выборки списков бронирований сразу в DTO, без загрузки сущностей.
+     */
+    public BookingDtoResponse(long id, LocalDateTime start, LocalDateTime end, Status status,
+                              Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                              Long bookerId, String bookerName, String bookerEmail) {
+        this(id, start, end, new ItemDtoResponse(itemId, itemName, itemDescription, itemAvailable),
+                new UserDtoResponse(bookerId, bookerName, bookerEmail), status);
+    }
 }
@@ -7,6 +7,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSlot;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -20,8 +21,12 @@ public interface BookingMapper {
     List<BookingDtoResponse> toBookingDtoResponseList(List<Booking> booking);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "item", source = "item")
+    @Mapping(target = "ownerId", source = "item.owner.id")
     Booking toBooking(BookingDtoRequest bookingDtoRequest, Item item, User booker, Status status);
 
     @Mapping(target = "bookerId", expression = "java(booking.getBooker().getId())")
     BookingDtoForItem toBookingDtoForItem(Booking booking);
+
+    BookingDtoForItem slotToBookingDtoForItem(ItemBookingSlot slot);
 }
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Число бронирований пользователя по каждому состоянию и момент, когда ближайшее бронирование начнётся
+ * или закончится: тогда счётчики CURRENT, PAST и FUTURE перестают быть верными.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingStateCounts {
+    private final Map<State, Long> counts;
+    private final LocalDateTime changesAt;
+
+    public boolean isStaleAt(LocalDateTime now) {
+        return changesAt != null && !changesAt.isAfter(now);
+    }
+
+    public BookingStateCounts withAdded(LocalDateTime start, LocalDateTime end, Status status, LocalDateTime now) {
+        Map<State, Long> changed = new EnumMap<>(counts);
+        changed.merge(State.ALL, 1L, Long::sum);
+        if (end.isBefore(now)) {
+            changed.merge(State.PAST, 1L, Long::sum);
+        } else if (start.isAfter(now)) {
+            changed.merge(State.FUTURE, 1L, Long::sum);
+        } else if (start.isBefore(now) && end.isAfter(now)) {
+            changed.merge(State.CURRENT, 1L, Long::sum);
+        }
+        if (status == Status.WAITING || status == Status.REJECTED) {
+            changed.merge(State.valueOf(status.name()), 1L, Long::sum);
+        }
+        LocalDateTime boundary = start.isAfter(now) ? start : end.isAfter(now) ? end : null;
+        return new BookingStateCounts(changed, boundary != null && (changesAt == null || boundary.isBefore(changesAt))
+                ? boundary : changesAt);
+    }
+
+    public BookingStateCounts withStatusChanged(Status from, Status to) {
+        Map<State, Long> changed = new EnumMap<>(counts);
+        if (from == Status.WAITING || from == Status.REJECTED) {
+            changed.merge(State.valueOf(from.name()), -1L, Long::sum);
+        }
+        if (to == Status.WAITING || to == Status.REJECTED) {
+            changed.merge(State.valueOf(to.name()), 1L, Long::sum);
+        }
+        return new BookingStateCounts(changed, changesAt);
+    }
+}
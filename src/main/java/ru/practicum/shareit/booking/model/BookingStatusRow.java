@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingStatusRow {
+    private final Long bookingId;
+    private final Long itemId;
+    private final Long bookerId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Status status;
+
+    public BookingInterval toInterval() {
+        return new BookingInterval(bookingId, start, end);
+    }
+
+    public boolean overlaps(BookingStatusRow other) {
+        return itemId.equals(other.itemId) && toInterval().overlaps(other.start, other.end);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ItemBookingSlot {
+    private final Long itemId;
+    private final Long id;
+    private final Long bookerId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public boolean isLastAt(LocalDateTime now) {
+        return start.isBefore(now);
+    }
+}
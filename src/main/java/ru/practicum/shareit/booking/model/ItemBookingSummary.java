@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ItemBookingSummary {
+    public static final ItemBookingSummary EMPTY = new ItemBookingSummary(null, null);
+
+    private final ItemBookingSlot last;
+    private final ItemBookingSlot next;
+
+    public boolean isStaleAt(LocalDateTime now) {
+        return next != null && !next.getStart().isAfter(now);
+    }
+
+    public ItemBookingSummary withNext(ItemBookingSlot slot) {
+        if (next != null && !slot.getStart().isBefore(next.getStart())) {
+            return this;
+        }
+        return new ItemBookingSummary(last, slot);
+    }
+}
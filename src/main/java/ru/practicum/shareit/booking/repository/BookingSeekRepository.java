@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStateCounts;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.pageable.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingSeekRepository {
+    List<BookingDtoResponse> findPage(BookingRole role, Long userId, State state, LocalDateTime now, Pageable pageable);
+
+    List<BookingDtoResponse> findPageAfter(BookingRole role, Long userId, State state, LocalDateTime now,
+                                           PageCursor cursor, int size);
+
+    BookingStateCounts countByState(BookingRole role, Long userId, LocalDateTime now);
+}
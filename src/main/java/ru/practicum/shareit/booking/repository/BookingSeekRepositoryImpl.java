@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStateCounts;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pageable.PageCursor;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Списки и счётчики бронирований строит один {@link BookingQuery}: роль задаёт фильтр по {@code booker_id}
+ * или {@code owner_id}, состояние — условие по времени или статусу. Значения уходят параметрами, так что
+ * на пару роли и состояния приходится одно подготовленное выражение. Списки выбираются конструктором сразу
+ * в {@link BookingDtoResponse}: вещь и арендатор приходят тем же запросом, сущности в контекст
+ * персистентности не попадают.
+ */
+public class BookingSeekRepositoryImpl implements BookingSeekRepository {
+    private static final List<State> COUNTED_STATES = List.of(
+            State.ALL, State.CURRENT, State.PAST, State.FUTURE, State.WAITING, State.REJECTED);
+    private static final String NEXT_START = "NEXT_START";
+    private static final String NEXT_END = "NEXT_END";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDtoResponse> findPage(BookingRole role, Long userId, State state, LocalDateTime now,
+                                             Pageable pageable) {
+        BookingQuery<BookingDtoResponse> query = new BookingQuery<>(BookingDtoResponse.class, role, userId, now);
+        query.where(query.state(state));
+        return query.select(query.response(), true)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<BookingDtoResponse> findPageAfter(BookingRole role, Long userId, State state, LocalDateTime now,
+                                                  PageCursor cursor, int size) {
+        BookingQuery<BookingDtoResponse> query = new BookingQuery<>(BookingDtoResponse.class, role, userId, now);
+        query.where(query.state(state));
+        query.after(cursor);
+        return query.select(query.response(), true)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public BookingStateCounts countByState(BookingRole role, Long userId, LocalDateTime now) {
+        BookingQuery<Tuple> query = new BookingQuery<>(Tuple.class, role, userId, now);
+        Tuple row = query.select(query.countsPerState(), false).getSingleResult();
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        COUNTED_STATES.forEach(state -> counts.put(state, row.get(state.name(), Long.class)));
+        LocalDateTime nextStart = row.get(NEXT_START, LocalDateTime.class);
+        LocalDateTime nextEnd = row.get(NEXT_END, LocalDateTime.class);
+        LocalDateTime changesAt = nextStart == null || nextEnd != null && nextEnd.isBefore(nextStart)
+                ? nextEnd : nextStart;
+        return new BookingStateCounts(counts, changesAt);
+    }
+
+    private class BookingQuery<T> {
+        private final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        private final CriteriaQuery<T> query;
+        private final Root<Booking> booking;
+        private final Path<LocalDateTime> start;
+        private final Path<LocalDateTime> end;
+        private final Path<Long> id;
+        private final LocalDateTime now;
+        private final List<Predicate> predicates = new ArrayList<>();
+        private final Map<ParameterExpression<Object>, Object> parameters = new HashMap<>();
+
+        BookingQuery(Class<T> resultType, BookingRole role, Long userId, LocalDateTime now) {
+            query = cb.createQuery(resultType);
+            booking = query.from(Booking.class);
+            start = booking.get("start");
+            end = booking.get("end");
+            id = booking.get("id");
+            this.now = now;
+            Path<Long> user = role == BookingRole.BOOKER ? booking.get("booker").get("id") : booking.get("ownerId");
+            predicates.add(cb.equal(user, bind(Long.class, userId)));
+        }
+
+        Predicate state(State state) {
+            switch (state) {
+                case ALL:
+                    return cb.conjunction();
+                case PAST:
+                    return cb.lessThan(end, bind(LocalDateTime.class, now));
+                case FUTURE:
+                    return cb.greaterThan(start, bind(LocalDateTime.class, now));
+                case CURRENT:
+                    return cb.and(cb.lessThan(start, bind(LocalDateTime.class, now)),
+                            cb.greaterThan(end, bind(LocalDateTime.class, now)));
+                case WAITING:
+                    return cb.equal(booking.get("status"), bind(Status.class, Status.WAITING));
+                case REJECTED:
+                    return cb.equal(booking.get("status"), bind(Status.class, Status.REJECTED));
+                default:
+                    throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+            }
+        }
+
+        void where(Predicate predicate) {
+            predicates.add(predicate);
+        }
+
+        void after(PageCursor cursor) {
+            ParameterExpression<LocalDateTime> timestamp = bind(LocalDateTime.class, cursor.getTimestamp());
+            predicates.add(cb.or(
+                    cb.lessThan(start, timestamp),
+                    cb.and(cb.equal(start, timestamp), cb.lessThan(id, bind(Long.class, cursor.getId())))));
+        }
+
+        Selection<BookingDtoResponse> response() {
+            Join<Booking, Item> item = booking.join("item");
+            Join<Booking, User> booker = booking.join("booker");
+            return cb.construct(BookingDtoResponse.class,
+                    id, start, end, booking.get("status"),
+                    item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                    booker.get("id"), booker.get("name"), booker.get("email"));
+        }
+
+        /**
+         * Все состояния одним проходом: {@code COUNT(CASE WHEN ... THEN id END)} на каждое состояние,
+         * псевдоним столбца — имя состояния. Ближайшие начало и конец после {@code now} показывают,
+         * до какого момента счётчики по времени верны.
+         */
+        Selection<Tuple> countsPerState() {
+            List<Selection<?>> counts = new ArrayList<>();
+            for (State state : COUNTED_STATES) {
+                counts.add(state == State.ALL
+                        ? cb.count(id).alias(state.name())
+                        : cb.count(cb.<Long>selectCase()
+                                .when(state(state), id)
+                                .otherwise(cb.nullLiteral(Long.class))).alias(state.name()));
+            }
+            counts.add(cb.least(cb.<LocalDateTime>selectCase()
+                    .when(cb.greaterThan(start, bind(LocalDateTime.class, now)), start)
+                    .otherwise(cb.nullLiteral(LocalDateTime.class))).alias(NEXT_START));
+            counts.add(cb.least(cb.<LocalDateTime>selectCase()
+                    .when(cb.greaterThan(end, bind(LocalDateTime.class, now)), end)
+                    .otherwise(cb.nullLiteral(LocalDateTime.class))).alias(NEXT_END));
+            return cb.tuple(counts.toArray(new Selection<?>[0]));
+        }
+
+        TypedQuery<T> select(Selection<? extends T> selection, boolean newestFirst) {
+            query.select(selection).where(predicates.toArray(new Predicate[0]));
+            if (newestFirst) {
+                query.orderBy(cb.desc(start), cb.desc(id));
+            }
+            TypedQuery<T> typed = entityManager.createQuery(query);
+            parameters.forEach(typed::setParameter);
+            return typed;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <V> ParameterExpression<V> bind(Class<V> type, V value) {
+            ParameterExpression<V> parameter = cb.parameter(type);
+            parameters.put((ParameterExpression<Object>) parameter, value);
+            return parameter;
+        }
+    }
+}
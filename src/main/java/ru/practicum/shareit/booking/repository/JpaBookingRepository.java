@@ -1,41 +1,82 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatusRow;
+import ru.practicum.shareit.booking.model.ItemBookingSlot;
 import ru.practicum.shareit.booking.model.Status;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface JpaBookingRepository extends JpaRepository<Booking, Long> {
+public interface JpaBookingRepository extends JpaRepository<Booking, Long>, BookingSeekRepository {
+    String EXPORT_FETCH_SIZE = "500";
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    List<Booking> findByItemIdInAndStatusNot(List<Long> itemIds, Status status);
 
-    List<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime now, Pageable pageable);
+    Optional<Booking> findFirstByItemIdAndBookerIdOrderByStart(Long itemId, Long bookerId);
 
-    List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime now, Pageable pageable);
+    boolean existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter(
+            Long itemId, Status status, LocalDateTime end, LocalDateTime start);
 
-    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime now1, LocalDateTime now2, Pageable pageable);
+    boolean existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(
+            Long itemId, Long bookingId, Status status, LocalDateTime end, LocalDateTime start);
 
-    List<Booking> findAllByBookerIdAndStatusIsOrderByStartDesc(Long bookerId, Status status, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingStatusRow(b.id, b.item.id, b.booker.id, b.start, b.end, b.status) " +
+            "FROM Booking b WHERE b.id IN ?1 AND b.ownerId = ?2 AND b.status <> ?3 ORDER BY b.start, b.id")
+    List<BookingStatusRow> findStatusRowsByIdInAndOwnerIdAndStatusNot(Collection<Long> ids, Long ownerId, Status status);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingStatusRow(b.id, b.item.id, b.booker.id, b.start, b.end, b.status) " +
+            "FROM Booking b WHERE b.status = ru.practicum.shareit.booking.model.Status.WAITING AND b.id NOT IN ?1 " +
+            "AND EXISTS (SELECT a.id FROM Booking a WHERE a.id IN ?1 AND a.item.id = b.item.id " +
+            "AND a.start < b.end AND a.end > b.start)")
+    List<BookingStatusRow> findWaitingOverlapping(Collection<Long> bookingIds);
 
-    List<Booking> findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(Long ownerId, LocalDateTime now, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = ?3 WHERE b.id IN ?1 " +
+            "AND b.status <> ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "AND b.ownerId = ?2")
+    int updateStatusOfOwnerBookings(Collection<Long> ids, Long ownerId, Status status);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(Long ownerId, LocalDateTime now, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = ru.practicum.shareit.booking.model.Status.REJECTED " +
+            "WHERE b.id IN ?1 AND b.status = ru.practicum.shareit.booking.model.Status.WAITING")
+    int rejectWaiting(Collection<Long> ids);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Long ownerId, LocalDateTime now1, LocalDateTime now2, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDtoResponse(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.id IN ?1 ORDER BY b.start DESC, b.id DESC")
+    List<BookingDtoResponse> findResponsesByIdIn(Collection<Long> ids);
 
-    List<Booking> findAllByItemOwnerIdAndStatusIsOrderByStartDesc(Long ownerId, Status status, Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDtoResponse(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u WHERE u.id = ?1 ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingDtoResponse> streamAllByBookerId(Long bookerId);
 
-    List<Booking> findByItemIdInAndStatusNot(List<Long> itemIds, Status status);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDtoResponse(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.ownerId = ?1 ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingDtoResponse> streamAllByOwnerId(Long ownerId);
 
-    Optional<Booking> findFirstByItemIdAndBookerIdOrderByStart(Long itemId, Long bookerId);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.booking.model.ItemBookingSlot(b.item.id, b.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id IN ?1 AND b.status <> ?2 AND (" +
+            "(b.start < ?3 AND b.end = (SELECT MAX(l.end) FROM Booking l " +
+            "WHERE l.item.id = b.item.id AND l.status <> ?2 AND l.start < ?3)) OR " +
+            "(b.start > ?3 AND b.start = (SELECT MIN(n.start) FROM Booking n " +
+            "WHERE n.item.id = b.item.id AND n.status <> ?2 AND n.start > ?3)))")
+    List<ItemBookingSlot> findLastAndNextBookings(Collection<Long> itemIds, Status status, LocalDateTime now);
+}
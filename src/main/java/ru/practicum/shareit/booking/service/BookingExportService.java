@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка всей истории бронирований пользователя одним ответом. Строки читаются курсором JDBC
+ * сразу в DTO и пишутся в поток по одной, поэтому память не зависит от длины истории.
+ * Пользователь проверяется до начала ответа, чтобы на неизвестный ID вернуть 404, а не обрезанный файл.
+ */
+@Service
+public class BookingExportService {
+    static final String CSV_HEADER = "id,start,end,status,item_id,item_name,booker_id,booker_name";
+
+    private final JpaBookingRepository bookingRepository;
+    private final UserExistenceService userExistenceService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    public BookingExportService(JpaBookingRepository bookingRepository, UserExistenceService userExistenceService,
+                                ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.userExistenceService = userExistenceService;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody export(BookingRole role, Long userId, BookingExportFormat format) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь с ID " + userId + " не найден.");
+        }
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            transaction.executeWithoutResult(status -> {
+                try (Stream<BookingDtoResponse> bookings = role == BookingRole.BOOKER
+                        ? bookingRepository.streamAllByBookerId(userId)
+                        : bookingRepository.streamAllByOwnerId(userId)) {
+                    write(bookings.iterator(), format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    private void write(Iterator<BookingDtoResponse> bookings, BookingExportFormat format, Writer writer) throws IOException {
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        while (bookings.hasNext()) {
+            BookingDtoResponse booking = bookings.next();
+            writer.write(format == BookingExportFormat.CSV ? toCsv(booking) : objectMapper.writeValueAsString(booking));
+            writer.write('\n');
+        }
+    }
+
+    private static String toCsv(BookingDtoResponse booking) {
+        return String.join(",",
+                String.valueOf(booking.getId()),
+                String.valueOf(booking.getStart()),
+                String.valueOf(booking.getEnd()),
+                String.valueOf(booking.getStatus()),
+                String.valueOf(booking.getItem().getId()),
+                escape(booking.getItem().getName()),
+                String.valueOf(booking.getBooker().getId()),
+                escape(booking.getBooker().getName()));
+    }
+
+    private static String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
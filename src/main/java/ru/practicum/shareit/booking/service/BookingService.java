@@ -1,19 +1,32 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.pageable.PageCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     BookingDtoResponse add(Long userId, BookingDtoRequest bookingDtoRequest);
 
     BookingDtoResponse approve(Long userId, Long bookingId, boolean approve);
 
+    BookingBatchResult approveAll(Long userId, Collection<Long> bookingIds, boolean approve);
+
     BookingDtoResponse get(Long userId, Long bookingId);
 
+    Map<State, Long> getStats(Long userId, BookingRole role);
+
     List<BookingDtoResponse> getAllByBooker(Long booker, State state, Long from, Integer size);
 
     List<BookingDtoResponse> getAllByOwner(Long ownerId, State state, Long from, Integer size);
+
+    List<BookingDtoResponse> getAllByBookerAfter(Long bookerId, State state, PageCursor cursor, Integer size);
+
+    List<BookingDtoResponse> getAllByOwnerAfter(Long ownerId, State state, PageCursor cursor, Integer size);
 }
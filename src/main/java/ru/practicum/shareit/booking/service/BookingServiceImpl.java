@@ -3,10 +3,13 @@ package ru.practicum.shareit.booking.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStatusRow;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
@@ -15,19 +18,30 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final JpaBookingRepository bookingRepository;
     private final JpaUserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final JpaItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ItemBookingSummaryCache summaryCache;
+    private final BookingStatsCache statsCache;
 
     @Override
     @Transactional
@@ -38,15 +52,8 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException(String.format("Время начала = %s или конца = %s бронирования неверное",
                     bookingDtoRequest.getStart(), bookingDtoRequest.getEnd()));
         }
-        Item item = itemRepository.findById(bookingDtoRequest.getItemId()).orElseThrow(() -> new NotFoundException("Вещь с ID" + bookingDtoRequest.getItemId() + " не найдена."));
-        List<Booking> bookings = bookingRepository
-                .findByItemIdInAndStatusNot(List.of(bookingDtoRequest.getItemId()), Status.REJECTED);
-        boolean isConflict = bookings.stream().anyMatch(b ->
-                (bookingDtoRequest.getStart().isAfter(b.getStart()) && bookingDtoRequest.getStart().isBefore(b.getEnd()))
-                        || (bookingDtoRequest.getEnd().isAfter(b.getStart()) && bookingDtoRequest.getEnd().isBefore(b.getEnd()))
-                        || (bookingDtoRequest.getStart().isBefore(b.getStart()) || bookingDtoRequest.getStart().equals(b.getStart()))
-                        && (bookingDtoRequest.getEnd().isAfter(b.getEnd()) || bookingDtoRequest.getEnd().equals(b.getEnd()))
-        );
+        Item item = itemRepository.findByIdForUpdate(bookingDtoRequest.getItemId()).orElseThrow(() -> new NotFoundException("Вещь с ID" + bookingDtoRequest.getItemId() + " не найдена."));
+        boolean isConflict = hasConflict(item.getId(), bookingDtoRequest.getStart(), bookingDtoRequest.getEnd());
         if (!item.getAvailable() || isConflict) {
             throw new ValidationException("Вещь не доступна для бронирования.");
         }
@@ -55,13 +62,15 @@ public class BookingServiceImpl implements BookingService {
         }
         Booking booking = bookingMapper.toBooking(bookingDtoRequest, item, booker, Status.WAITING);
         Booking savedBooking = bookingRepository.save(booking);
+        summaryCache.onAdded(savedBooking);
+        statsCache.onAdded(savedBooking);
         return bookingMapper.toBookingDtoResponse(savedBooking);
     }
 
     @Override
     @Transactional
     public BookingDtoResponse approve(Long userId, Long bookingId, boolean approve) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         Booking booking = getBookingIfPresent(bookingId);
         if (!userId.equals(booking.getItem().getOwner().getId())) {
             throw new NotFoundException("Изменить статус может только владелец!");
@@ -69,16 +78,112 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus().equals(Status.APPROVED)) {
             throw new ValidationException("Статус бронирования уже 'APPROVED'");
         }
+        Status previousStatus = booking.getStatus();
+        if (approve && previousStatus == Status.REJECTED && overlapsApproved(booking.getId(),
+                booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new ValidationException("Вещь не доступна для бронирования.");
+        }
+        if (approve) {
+            rejectOverlappingWaiting(userId, List.of(booking.getId()));
+        }
         booking.setStatus(approve ? Status.APPROVED : Status.REJECTED);
         booking = bookingRepository.save(booking);
+        if (!approve || previousStatus == Status.REJECTED) {
+            summaryCache.onStatusChanged(booking);
+        }
+        statsCache.onStatusChanged(booking.getBooker().getId(), userId, previousStatus, booking.getStatus());
         return bookingMapper.toBookingDtoResponse(booking);
     }
 
+    /**
+     * Статусы меняются одним UPDATE с проверкой владельца. При подтверждении ожидающие бронирования
+     * тех же вещей, пересекающиеся с подтверждёнными, отклоняются. Из пересекающихся между собой
+     * бронирований пакета подтверждается самое раннее, остальные пропускаются, как и отклонённые,
+     * чей период уже занят подтверждённым бронированием.
+     */
+    @Override
+    @Transactional
+    public BookingBatchResult approveAll(Long userId, Collection<Long> bookingIds, boolean approve) {
+        checkUserExists(userId);
+        List<BookingStatusRow> rows = bookingRepository.findStatusRowsByIdInAndOwnerIdAndStatusNot(
+                bookingIds, userId, Status.APPROVED);
+        List<BookingStatusRow> changed = approve ? withoutOverlaps(rows) : rows;
+        List<Long> changedIds = changed.stream().map(BookingStatusRow::getBookingId).collect(Collectors.toList());
+        Set<Long> changedIdSet = new HashSet<>(changedIds);
+        List<Long> skippedIds = bookingIds.stream()
+                .distinct()
+                .filter(id -> !changedIdSet.contains(id))
+                .collect(Collectors.toList());
+        if (changedIds.isEmpty()) {
+            return new BookingBatchResult(List.of(), skippedIds, List.of());
+        }
+
+        List<Long> autoRejectedIds = approve ? rejectOverlappingWaiting(userId, changedIds) : List.of();
+        bookingRepository.updateStatusOfOwnerBookings(changedIds, userId, approve ? Status.APPROVED : Status.REJECTED);
+
+        for (BookingStatusRow row : changed) {
+            if (!approve || row.getStatus() == Status.REJECTED) {
+                summaryCache.invalidate(row.getItemId());
+            }
+            statsCache.onStatusChanged(row.getBookerId(), userId, row.getStatus(),
+                    approve ? Status.APPROVED : Status.REJECTED);
+        }
+        return new BookingBatchResult(bookingRepository.findResponsesByIdIn(changedIds), skippedIds, autoRejectedIds);
+    }
+
+    /**
+     * Отклоняет ожидающие бронирования, пересекающиеся с подтверждаемыми. Вызывается до смены статуса
+     * подтверждаемых, иначе автосброс изменений перед UPDATE нарушит ограничение на пересечения.
+     */
+    private List<Long> rejectOverlappingWaiting(Long ownerId, List<Long> approvedIds) {
+        List<BookingStatusRow> overlapping = bookingRepository.findWaitingOverlapping(approvedIds);
+        if (overlapping.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = overlapping.stream().map(BookingStatusRow::getBookingId).collect(Collectors.toList());
+        bookingRepository.rejectWaiting(ids);
+        for (BookingStatusRow row : overlapping) {
+            summaryCache.invalidate(row.getItemId());
+            statsCache.onStatusChanged(row.getBookerId(), ownerId, Status.WAITING, Status.REJECTED);
+        }
+        return ids;
+    }
+
+    private List<BookingStatusRow> withoutOverlaps(List<BookingStatusRow> rows) {
+        List<BookingStatusRow> accepted = new ArrayList<>();
+        for (BookingStatusRow row : rows) {
+            if (row.getStatus() == Status.REJECTED && overlapsApproved(row.getBookingId(), row.getItemId(),
+                    row.getStart(), row.getEnd())) {
+                continue;
+            }
+            if (accepted.stream().noneMatch(row::overlaps)) {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Ожидающие пересечения отклоняются при подтверждении, поэтому отклонённому бронированию
+     * мешают только подтверждённые.
+     */
+    private boolean overlapsApproved(Long bookingId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(
+                itemId, bookingId, Status.APPROVED, end, start);
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<State, Long> getStats(Long userId, BookingRole role) {
+        checkUserExists(userId);
+        return statsCache.get(role, userId, LocalDateTime.now()).getCounts();
+    }
 
     @Override
     @Transactional(readOnly = true)
     public BookingDtoResponse get(Long userId, Long bookingId) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         Booking booking = getBookingIfPresent(bookingId);
         if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId()))
             throw new NotFoundException("Доступ к бронированию имеет только владелец или автор бронирования!");
@@ -88,58 +193,47 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<BookingDtoResponse> getAllByBooker(Long bookerId, State state, Long from, Integer size) {
-        getUserIfPresent(bookerId);
-        LocalDateTime now = LocalDateTime.now();
-        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        switch (state) {
-            case ALL:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageRequest));
-            case PAST:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByBookerIdAndEndIsBeforeOrderByStartDesc(bookerId, now, pageRequest));
-            case FUTURE:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByBookerIdAndStartIsAfterOrderByStartDesc(bookerId, now, pageRequest));
-            case CURRENT:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(bookerId, now, now, pageRequest));
-            case WAITING:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByBookerIdAndStatusIsOrderByStartDesc(bookerId, Status.WAITING, pageRequest));
-            case REJECTED:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByBookerIdAndStatusIsOrderByStartDesc(bookerId, Status.REJECTED, pageRequest));
-            default:
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        checkUserExists(bookerId);
+        return bookingRepository.findPage(BookingRole.BOOKER, bookerId, state, LocalDateTime.now(),
+                OffsetPageRequest.of(from, size));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingDtoResponse> getAllByOwner(Long ownerId, State state, Long from, Integer size) {
-        getUserIfPresent(ownerId);
-        LocalDateTime now = LocalDateTime.now();
-        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        switch (state) {
-            case ALL:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageRequest));
-            case PAST:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(ownerId, now, pageRequest));
-            case FUTURE:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(ownerId, now, pageRequest));
-            case CURRENT:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(ownerId, now, now, pageRequest));
-            case WAITING:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByItemOwnerIdAndStatusIsOrderByStartDesc(ownerId, Status.WAITING, pageRequest));
-            case REJECTED:
-                return bookingMapper.toBookingDtoResponseList(bookingRepository
-                        .findAllByItemOwnerIdAndStatusIsOrderByStartDesc(ownerId, Status.REJECTED, pageRequest));
-            default:
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+        checkUserExists(ownerId);
+        return bookingRepository.findPage(BookingRole.OWNER, ownerId, state, LocalDateTime.now(),
+                OffsetPageRequest.of(from, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoResponse> getAllByBookerAfter(Long bookerId, State state, PageCursor cursor, Integer size) {
+        checkUserExists(bookerId);
+        return findPageAfter(BookingRole.BOOKER, bookerId, state, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoResponse> getAllByOwnerAfter(Long ownerId, State state, PageCursor cursor, Integer size) {
+        checkUserExists(ownerId);
+        return findPageAfter(BookingRole.OWNER, ownerId, state, cursor, size);
+    }
+
+    private List<BookingDtoResponse> findPageAfter(BookingRole role, Long userId, State state, PageCursor cursor, Integer size) {
+        if (cursor.getTimestamp() == null) {
+            throw new ValidationException(String.format("Некорректный курсор пагинации: %s", cursor.encode()));
+        }
+        return bookingRepository.findPageAfter(role, userId, state, LocalDateTime.now(), cursor, size);
+    }
+
+    private boolean hasConflict(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter(itemId, Status.REJECTED, end, start);
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь с ID " + userId + " не найден.");
         }
     }
 
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStateCounts;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.cache.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Счётчики бронирований по состояниям для арендатора и владельца. После коммита добавления и смены статуса
+ * записи правятся на месте, а когда ближайшее бронирование начинается или заканчивается, пересчитываются
+ * запросом. Удаление пользователя каскадом удаляет бронирования и у других пользователей, поэтому сбрасывает
+ * кэш целиком. Записей не больше {@code shareit.booking.stats.cache.max-size}, новые сверх предела
+ * не сохраняются. Кэш отключается свойством {@code shareit.booking.stats.cache.enabled}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStatsCache {
+    private final JpaBookingRepository bookingRepository;
+
+    private final Map<Key, BookingStateCounts> counts = new ConcurrentHashMap<>();
+    /**
+     * Поколения ключей, которые сейчас загружаются: изменение во время загрузки увеличивает поколение,
+     * и загруженные до него счётчики не сохраняются. Запись удаляется, когда загрузка завершается.
+     */
+    private final Map<Key, Long> generations = new ConcurrentHashMap<>();
+
+    @Value("${shareit.booking.stats.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${shareit.booking.stats.cache.max-size:100000}")
+    private int maxSize;
+
+    public BookingStateCounts get(BookingRole role, Long userId, LocalDateTime now) {
+        if (!enabled) {
+            return bookingRepository.countByState(role, userId, now);
+        }
+        Key key = new Key(role, userId);
+        BookingStateCounts cached = counts.get(key);
+        if (cached != null && !cached.isStaleAt(now)) {
+            return cached;
+        }
+        long generation = generations.computeIfAbsent(key, k -> 0L);
+        BookingStateCounts loaded;
+        try {
+            loaded = bookingRepository.countByState(role, userId, now);
+        } catch (RuntimeException e) {
+            generations.remove(key);
+            throw e;
+        }
+        counts.compute(key, (k, current) -> {
+            Long latest = generations.remove(k);
+            if (latest == null || latest != generation || current == null && counts.size() >= maxSize) {
+                return current;
+            }
+            return loaded;
+        });
+        return loaded;
+    }
+
+    public void onAdded(Booking booking) {
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        Status status = booking.getStatus();
+        UnaryOperator<BookingStateCounts> change = c -> c.withAdded(start, end, status, LocalDateTime.now());
+        TransactionCallbacks.afterCommit(() -> {
+            update(new Key(BookingRole.BOOKER, booking.getBooker().getId()), change);
+            update(new Key(BookingRole.OWNER, booking.getOwnerId()), change);
+        });
+    }
+
+    public void onStatusChanged(Long bookerId, Long ownerId, Status from, Status to) {
+        UnaryOperator<BookingStateCounts> change = c -> c.withStatusChanged(from, to);
+        TransactionCallbacks.afterCommit(() -> {
+            update(new Key(BookingRole.BOOKER, bookerId), change);
+            update(new Key(BookingRole.OWNER, ownerId), change);
+        });
+    }
+
+    public void invalidateAll() {
+        TransactionCallbacks.afterCommit(() -> {
+            generations.replaceAll((key, generation) -> generation + 1);
+            counts.clear();
+        });
+    }
+
+    private void update(Key key, UnaryOperator<BookingStateCounts> change) {
+        if (!enabled) {
+            return;
+        }
+        counts.compute(key, (k, current) -> {
+            generations.computeIfPresent(k, (id, generation) -> generation + 1);
+            return current == null ? null : change.apply(current);
+        });
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        private final BookingRole role;
+        private final Long userId;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSlot;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.cache.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Последнее и следующее бронирование каждой вещи. Записи обновляются после коммита
+ * добавления и подтверждения бронирований и пересчитываются, когда следующее бронирование начинается.
+ * Записей не больше {@code shareit.booking.summary.cache.max-size}, новые сверх предела не сохраняются.
+ * Кэш отключается свойством {@code shareit.booking.summary.cache.enabled}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryCache {
+    private final JpaBookingRepository bookingRepository;
+
+    private final Map<Long, ItemBookingSummary> summaries = new ConcurrentHashMap<>();
+    /**
+     * Поколения вещей, сводки которых сейчас загружаются: изменение во время загрузки увеличивает поколение,
+     * и загруженная до него сводка не сохраняется. Запись удаляется, когда загрузка завершается.
+     */
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    @Value("${shareit.booking.summary.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${shareit.booking.summary.cache.max-size:100000}")
+    private int maxSize;
+
+    /**
+     * Возвращает сводки по вещам на момент {@code now}, недостающие и устаревшие догружает одним запросом.
+     */
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemBookingSummary summary = enabled ? summaries.get(itemId) : null;
+            if (summary == null || summary.isStaleAt(now)) {
+                missing.add(itemId);
+            } else {
+                result.put(itemId, summary);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        Map<Long, Long> loadedGenerations = enabled
+                ? missing.stream().collect(Collectors.toMap(id -> id, id -> generations.computeIfAbsent(id, k -> 0L)))
+                : Map.of();
+        Map<Long, List<ItemBookingSlot>> slotsByItemId;
+        try {
+            slotsByItemId = bookingRepository.findLastAndNextBookings(missing, Status.REJECTED, now).stream()
+                    .collect(Collectors.groupingBy(ItemBookingSlot::getItemId));
+        } catch (RuntimeException e) {
+            missing.forEach(generations::remove);
+            throw e;
+        }
+        for (Long itemId : missing) {
+            ItemBookingSummary summary = toSummary(slotsByItemId.get(itemId), now);
+            result.put(itemId, summary);
+            if (enabled) {
+                store(itemId, loadedGenerations.get(itemId), summary);
+            }
+        }
+        return result;
+    }
+
+    public void onAdded(Booking booking) {
+        ItemBookingSlot slot = new ItemBookingSlot(booking.getItem().getId(), booking.getId(),
+                booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+        TransactionCallbacks.afterCommit(() -> update(slot.getItemId(), summary -> slot.getStart().isAfter(LocalDateTime.now())
+                ? summary.withNext(slot) : null));
+    }
+
+    public void onStatusChanged(Booking booking) {
+        invalidate(booking.getItem().getId());
+    }
+
+    public void invalidate(Long itemId) {
+        TransactionCallbacks.afterCommit(() -> update(itemId, summary -> null));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.roll-delay:PT1M}",
+            initialDelayString = "${shareit.booking.summary.roll-delay:PT1M}")
+    public void rollStartedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> started = summaries.entrySet().stream()
+                .filter(entry -> entry.getValue().isStaleAt(now))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!started.isEmpty()) {
+            log.debug("Пересчёт сводок бронирований вещей {}", started);
+            getSummaries(started, now);
+        }
+    }
+
+    private ItemBookingSummary toSummary(List<ItemBookingSlot> slots, LocalDateTime now) {
+        if (slots == null) {
+            return ItemBookingSummary.EMPTY;
+        }
+        ItemBookingSlot last = null;
+        ItemBookingSlot next = null;
+        for (ItemBookingSlot slot : slots) {
+            if (slot.isLastAt(now)) {
+                last = slot;
+            } else {
+                next = slot;
+            }
+        }
+        return new ItemBookingSummary(last, next);
+    }
+
+    private void store(Long itemId, long generation, ItemBookingSummary summary) {
+        summaries.compute(itemId, (id, current) -> {
+            Long latest = generations.remove(id);
+            if (latest == null || latest != generation || current == null && summaries.size() >= maxSize) {
+                return current;
+            }
+            return summary;
+        });
+    }
+
+    private void update(Long itemId, UnaryOperator<ItemBookingSummary> change) {
+        if (!enabled) {
+            return;
+        }
+        summaries.compute(itemId, (id, summary) -> {
+            generations.computeIfPresent(id, (k, generation) -> generation + 1);
+            return summary == null ? null : change.apply(summary);
+        });
+    }
+}
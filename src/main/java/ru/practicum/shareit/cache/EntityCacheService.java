@@ -0,0 +1,50 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Управление кэшем второго уровня Hibernate: сброс регионов после каскадных удалений,
+ * которые выполняет БД в обход сессии, и статистика попаданий по регионам. Статистика собирается,
+ * только если включено свойство {@code shareit.cache.statistics-enabled}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCacheService {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictAfterCommit(Class<?>... entityClasses) {
+        TransactionCallbacks.afterCommit(() -> Arrays.stream(entityClasses)
+                .forEach(entityClass -> entityManagerFactory.getCache().evict(entityClass)));
+    }
+
+    public Map<String, CacheRegionStatistics> getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, CacheRegionStatistics> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            regions.put(regionName, statistics.getDomainDataRegionStatistics(regionName));
+        }
+        return regions;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.cache.statistics-delay:PT5M}",
+            initialDelayString = "${shareit.cache.statistics-delay:PT5M}")
+    public void logStatistics() {
+        if (!entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled()) {
+            return;
+        }
+        getStatistics().forEach((region, statistics) -> log.info("Кэш {}: попаданий {}, промахов {}, записей {}",
+                region, statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount()));
+    }
+}
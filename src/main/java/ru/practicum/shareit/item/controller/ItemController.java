@@ -5,15 +5,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.controller.dto.CommentDto;
+import ru.practicum.shareit.item.controller.dto.ItemBatchResult;
 import ru.practicum.shareit.item.controller.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.markers.Marker;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.item.controller.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -26,6 +31,7 @@ import java.util.Objects;
 public class ItemController {
 
     private static final String DEFAULT_PAGE_SIZE = "10";
+    private static final int MAX_BATCH_SIZE = 10_000;
     private final ItemServiceImpl itemService;
 
     @PostMapping
@@ -35,6 +41,13 @@ public class ItemController {
         return itemService.addNewItem(userId, request);
     }
 
+    @PostMapping("/batch")
+    public List<ItemBatchResult> addBatch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                          @RequestBody @NotNull @Size(max = MAX_BATCH_SIZE) List<ItemDtoRequest> requests) {
+        log.info("Получен запрос на пакетное добавление {} вещей", requests.size());
+        return itemService.addNewItems(userId, requests);
+    }
+
     @GetMapping("/{itemId}")
     public ItemDtoResponse getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
                                        @Valid @PathVariable long itemId) {
@@ -45,9 +58,18 @@ public class ItemController {
     @GetMapping
     public List<ItemDtoResponse> get(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
+                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size,
+                                                @RequestParam(required = false) String cursor,
+                                                HttpServletResponse response) {
         log.info("Получен запрос на получение списка вещей пользователя с ID{}", userId);
-        return itemService.getItemsByUserId(userId, from, size);
+        List<ItemDtoResponse> items = cursor == null
+                ? itemService.getItemsByUserId(userId, from, size)
+                : itemService.getItemsByUserIdAfter(userId, PageCursor.decode(cursor), size);
+        if (items.size() == size) {
+            ItemDtoResponse last = items.get(items.size() - 1);
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(last.getId()).encode());
+        }
+        return items;
     }
 
     @PatchMapping("/{itemId}")
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Итог по одной вещи из пакета: позиция в запросе и либо созданная вещь, либо причина отказа.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBatchResult {
+
+    private int index;
+
+    private ItemDto item;
+
+    private String error;
+
+    public static ItemBatchResult created(int index, ItemDto item) {
+        return new ItemBatchResult(index, item, null);
+    }
+
+    public static ItemBatchResult failed(int index, String error) {
+        return new ItemBatchResult(index, null, error);
+    }
+}
@@ -18,4 +18,8 @@ public class ItemDtoResponse {
     private BookingDtoForItem lastBooking;
     private BookingDtoForItem nextBooking;
     private List<CommentDto> comments;
+
+    public ItemDtoResponse(Long id, String name, String description, Boolean available) {
+        this(id, name, description, available, null, null, null);
+    }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -9,9 +10,12 @@ import java.util.List;
 
 @Repository
 public interface JpaCommentRepository extends JpaRepository<Comment, Long> {
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN ?1 ORDER BY c.id")
     List<Comment> findByItemIdIn(List<Long> itemId);
 
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = ?1 ORDER BY c.id")
     List<Comment> findAllByItemId(Long itemId);
 
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN ?1 ORDER BY c.id")
     List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
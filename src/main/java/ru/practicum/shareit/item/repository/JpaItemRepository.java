@@ -2,16 +2,40 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JpaItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
 
-    @Query(value = "SELECT i FROM Item i WHERE (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) AND i.available = true")
-    List<Item> searchInTitleAndDescription(String text, Pageable pageable);
+    List<Item> findAllByOwnerIdAndIdGreaterThanOrderById(Long userId, Long id, Pageable pageable);
+
+    List<Item> findAllByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.controller.dto.ItemDtoResponse(i.id, i.name, i.description, i.available) " +
+            "FROM Item i WHERE (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) AND i.available = true " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE ?1 THEN 0 ELSE 1 END, i.id")
+    List<ItemDtoResponse> searchInTitleAndDescription(String text, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.controller.dto.ItemDtoResponse(i.id, i.name, i.description, i.available) " +
+            "FROM Item i WHERE i.id IN ?1")
+    List<ItemDtoResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT * FROM items i WHERE i.is_available AND (i.name ILIKE ?2 OR i.description ILIKE ?2) " +
+            "ORDER BY GREATEST(similarity(i.name, ?1), similarity(i.description, ?1)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchBySimilarity(String text, String pattern, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
 }
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск доступных вещей по названию и описанию.
+ * Реализация выбирается свойством {@code shareit.item.search.engine}.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Возвращает доступные вещи, содержащие текст в названии или описании,
+     * в порядке убывания релевантности. Результат только для чтения, поэтому собирается сразу в DTO.
+     */
+    List<ItemDtoResponse> search(String text, Pageable pageable);
+
+    /**
+     * Сообщает о сохранении вещи. {@code previous} — копия состояния до изменения, {@code null} для новой вещи.
+     */
+    default void onSaved(Item previous, Item saved) {
+    }
+}
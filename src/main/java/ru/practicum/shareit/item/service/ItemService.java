@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.controller.dto.CommentDto;
+import ru.practicum.shareit.item.controller.dto.ItemBatchResult;
 import ru.practicum.shareit.item.controller.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.controller.dto.ItemDto;
+import ru.practicum.shareit.pageable.PageCursor;
 
 import java.util.List;
 
@@ -11,12 +13,16 @@ public interface ItemService {
 
     ItemDto addNewItem(Long userId, ItemDtoRequest request);
 
+    List<ItemBatchResult> addNewItems(Long userId, List<ItemDtoRequest> requests);
+
     ItemDtoResponse update(Long userId, Long itemId, ItemDtoRequest request);
 
     ItemDtoResponse getItemById(Long userId, Long itemId);
 
     List<ItemDtoResponse> getItemsByUserId(Long userId, Long from, Integer size);
 
+    List<ItemDtoResponse> getItemsByUserIdAfter(Long userId, PageCursor cursor, Integer size);
+
     List<ItemDtoResponse> findItemsByText(String text, Long from, Integer size);
 
     CommentDto addComment(Long bookerId, Long itemId, CommentDto commentDto);
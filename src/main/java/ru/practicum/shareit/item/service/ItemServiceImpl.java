@@ -3,14 +3,15 @@ package ru.practicum.shareit.item.service;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryCache;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.controller.dto.CommentDto;
+import ru.practicum.shareit.item.controller.dto.ItemBatchResult;
 import ru.practicum.shareit.item.controller.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.controller.dto.ItemDto;
@@ -20,17 +21,25 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaCommentRepository;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.markers.Marker;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.JpaItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,9 +51,13 @@ public class ItemServiceImpl implements ItemService {
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
     private final JpaUserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final JpaBookingRepository bookingRepository;
     private final JpaCommentRepository commentRepository;
     private final JpaItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ItemBookingSummaryCache summaryCache;
+    private final Validator validator;
 
     @Override
     @Transactional()
@@ -54,11 +67,79 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(user);
         addRequestToItem(itemDto, item);
         Item createdItem = itemRepository.save(item);
+        searchEngine.onSaved(null, createdItem);
         ItemDto itemForResponse = mapper.toItemWithRequest(createdItem);
         itemForResponse.setRequestId(itemDto.getRequestId());
         return itemForResponse;
     }
 
+    /**
+     * Владелец и все запросы проверяются одним запросом каждый, корректные вещи сохраняются одним
+     * батчем. Ошибка в отдельной вещи не откатывает остальные, а попадает в её результат.
+     */
+    @Override
+    @Transactional
+    public List<ItemBatchResult> addNewItems(Long userId, List<ItemDtoRequest> requests) {
+        User user = getUserIfPresent(userId);
+        Set<Long> requestIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDtoRequest::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> itemRequests = requestIds.isEmpty() ? Map.of() : itemRequestRepository.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        ItemBatchResult[] results = new ItemBatchResult[requests.size()];
+        List<Item> items = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ItemDtoRequest request = requests.get(i);
+            String error = validate(request, itemRequests);
+            if (error != null) {
+                results[i] = ItemBatchResult.failed(i, error);
+                continue;
+            }
+            Item item = mapper.toItem(request);
+            item.setOwner(user);
+            ItemRequest itemRequest = itemRequests.get(request.getRequestId());
+            if (itemRequest != null) {
+                itemRequest.addItem(item);
+            }
+            items.add(item);
+            positions.add(i);
+        }
+
+        List<Item> createdItems = itemRepository.saveAll(items);
+        for (int k = 0; k < createdItems.size(); k++) {
+            Item createdItem = createdItems.get(k);
+            int i = positions.get(k);
+            searchEngine.onSaved(null, createdItem);
+            ItemDto itemForResponse = mapper.toItemWithRequest(createdItem);
+            itemForResponse.setRequestId(requests.get(i).getRequestId());
+            results[i] = ItemBatchResult.created(i, itemForResponse);
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validate(ItemDtoRequest request, Map<Long, ItemRequest> itemRequests) {
+        if (request == null) {
+            return "Пустое описание вещи";
+        }
+        Set<ConstraintViolation<ItemDtoRequest>> violations = validator.validate(request, Marker.OnCreate.class);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        Long requestId = request.getRequestId();
+        if (requestId != null && !itemRequests.containsKey(requestId)) {
+            return String.format("Запрос с ID%d не найден", requestId);
+        }
+        return null;
+    }
+
     private void addRequestToItem(ItemDtoRequest itemDto, Item item) {
         Long requestId = itemDto.getRequestId();
         if (requestId != null) {
@@ -72,11 +153,12 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public ItemDtoResponse update(Long userId, Long itemId, ItemDtoRequest request) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String.format("Вещь с ID%d не найдена", itemId)));
         if (!Objects.equals(item.getOwner().getId(), userId)) {
             throw new NotFoundException("Пользователь не является владельцем вещи");
         }
+        Item previous = snapshot(item);
         Item requestItem = mapper.toItem(request);
         if (requestItem.getName() != null) {
             item.setName(requestItem.getName());
@@ -89,21 +171,20 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(item);
+        searchEngine.onSaved(previous, updatedItem);
         return mapper.toResponse(updatedItem);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemDtoResponse getItemById(Long userId, Long itemId) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         Item item = getItemIfPresent(itemId);
         ItemDtoResponse responseItem = mapper.toResponse(item);
         responseItem.setComments(commentMapper.toCommentDtoList(commentRepository.findByItemIdIn(List.of(itemId))));
         if (!userId.equals(item.getOwner().getId())) return responseItem;
-        List<Booking> bookings = bookingRepository
-                .findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED);
-        responseItem.setLastBooking(findLastBooking(bookings));
-        responseItem.setNextBooking(findNextBooking(bookings));
+        ItemBookingSummary summary = summaryCache.getSummaries(List.of(itemId), LocalDateTime.now()).get(itemId);
+        setLastAndNextBooking(responseItem, summary);
 
         return responseItem;
     }
@@ -111,39 +192,55 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemDtoResponse> getItemsByUserId(Long userId, Long from, Integer size) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        List<ItemDtoResponse> items = itemRepository.findAllByOwnerIdOrderById(userId, pageRequest).stream()
+        return toOwnerResponses(itemRepository.findAllByOwnerIdOrderById(userId, pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDtoResponse> getItemsByUserIdAfter(Long userId, PageCursor cursor, Integer size) {
+        checkUserExists(userId);
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, size);
+        return toOwnerResponses(itemRepository.findAllByOwnerIdAndIdGreaterThanOrderById(userId, cursor.getId(), pageRequest));
+    }
+
+    private List<ItemDtoResponse> toOwnerResponses(List<Item> ownerItems) {
+        List<ItemDtoResponse> items = ownerItems.stream()
                 .map(mapper::toResponse)
                 .collect(Collectors.toList());
         List<Long> itemIds = items.stream()
                 .map(ItemDtoResponse::getId)
                 .collect(Collectors.toList());
-        Map<Long, List<Booking>> bookingsByItemId = bookingRepository
-                .findByItemIdInAndStatusNot(itemIds, Status.REJECTED).stream()
-                .collect(Collectors.groupingBy(b -> b.getItem().getId()));
+        Map<Long, ItemBookingSummary> summariesByItemId = summaryCache.getSummaries(itemIds, LocalDateTime.now());
         Map<Long, List<Comment>> commentsMapByItemId = commentRepository.findByItemIdIn(itemIds).stream()
                 .collect(Collectors.groupingBy(c -> c.getItem().getId()));
         return items.stream()
-                .peek(i -> i.setLastBooking(findLastBooking(bookingsByItemId.get(i.getId()))))
-                .peek(i -> i.setNextBooking(findNextBooking(bookingsByItemId.get(i.getId()))))
+                .peek(i -> setLastAndNextBooking(i, summariesByItemId.get(i.getId())))
                 .peek(i -> i.setComments(commentMapper.toCommentDtoList(commentsMapByItemId.get(i.getId()))))
                 .collect(Collectors.toList());
     }
 
+    private void setLastAndNextBooking(ItemDtoResponse item, ItemBookingSummary summary) {
+        if (summary.getLast() != null) {
+            item.setLastBooking(bookingMapper.slotToBookingDtoForItem(summary.getLast()));
+        }
+        if (summary.getNext() != null) {
+            item.setNextBooking(bookingMapper.slotToBookingDtoForItem(summary.getNext()));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ItemDtoResponse> findItemsByText(String text, Long from, Integer size) {
-        String searchText = "%" + text.toLowerCase() + "%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        List<Item> items = itemRepository.searchInTitleAndDescription(searchText, pageRequest);
-        return items.stream().map(mapper::toResponse).collect(Collectors.toList());
+        return searchEngine.search(text, pageRequest);
     }
 
     @Override
     @Transactional
     public CommentDto addComment(Long bookerId, Long itemId, CommentDto commentDto) {
-        getUserIfPresent(bookerId);
+        checkUserExists(bookerId);
         getItemIfPresent(itemId);
         Booking booking = bookingRepository.findFirstByItemIdAndBookerIdOrderByStart(itemId, bookerId)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID%d не бронировал вещь с ID%d",
@@ -158,20 +255,19 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toCommentDto(commentRepository.save(comment));
     }
 
-    private BookingDtoForItem findLastBooking(List<Booking> bookingList) {
-        if (bookingList == null) return null;
-        return bookingList.stream()
-                .filter(b -> b.getStart().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(Booking::getEnd))
-                .map(bookingMapper::toBookingDtoForItem).orElse(null);
+    private Item snapshot(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
     }
 
-    private BookingDtoForItem findNextBooking(List<Booking> bookingList) {
-        if (bookingList == null) return null;
-        return bookingList.stream()
-                .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStart))
-                .map(bookingMapper::toBookingDtoForItem).orElse(null);
+    private void checkUserExists(Long userId) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException(String.format("Пользователь с ID%d не найден", userId));
+        }
     }
 
     private User getUserIfPresent(Long userId) {
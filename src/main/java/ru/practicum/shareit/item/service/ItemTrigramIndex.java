@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграммный индекс по названию и описанию вещей.
+ * Списки вхождений хранятся отсортированными массивами int, доступность вещей — битовой маской.
+ * Индекс даёт кандидатов: при запросе длиннее трёх символов возможны ложные совпадения.
+ */
+public class ItemTrigramIndex {
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> namePostings = new HashMap<>();
+    private final Map<Long, Postings> descriptionPostings = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(int itemId, String name, String description, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            for (long trigram : trigrams(name)) {
+                namePostings.computeIfAbsent(trigram, t -> new Postings()).add(itemId);
+            }
+            for (long trigram : trigrams(description)) {
+                descriptionPostings.computeIfAbsent(trigram, t -> new Postings()).add(itemId);
+            }
+            available.set(itemId, isAvailable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int itemId, String name, String description) {
+        lock.writeLock().lock();
+        try {
+            remove(namePostings, trigrams(name), itemId);
+            remove(descriptionPostings, trigrams(description), itemId);
+            available.clear(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает ID доступных вещей-кандидатов: сначала совпадения в названии, затем только в описании,
+     * внутри каждой группы по возрастанию ID.
+     */
+    public int[] candidates(String text) {
+        long[] trigrams = trigrams(text);
+        if (trigrams.length == 0) {
+            throw new IllegalArgumentException("Текст короче " + TRIGRAM_LENGTH + " символов");
+        }
+        lock.readLock().lock();
+        try {
+            int[] byName = intersect(namePostings, trigrams);
+            int[] byDescription = intersect(descriptionPostings, trigrams);
+            int[] result = new int[byName.length + byDescription.length];
+            int size = 0;
+            for (int id : byName) {
+                if (available.get(id)) {
+                    result[size++] = id;
+                }
+            }
+            for (int id : byDescription) {
+                if (available.get(id) && Arrays.binarySearch(byName, id) < 0) {
+                    result[size++] = id;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long[] trigrams(String text) {
+        if (text == null || text.length() < TRIGRAM_LENGTH) {
+            return new long[0];
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        long[] trigrams = new long[lower.length() - TRIGRAM_LENGTH + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static void remove(Map<Long, Postings> postingsByTrigram, long[] trigrams, int itemId) {
+        for (long trigram : trigrams) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings != null && postings.remove(itemId) && postings.isEmpty()) {
+                postingsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    private static int[] intersect(Map<Long, Postings> postingsByTrigram, long[] trigrams) {
+        Postings[] lists = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = postingsByTrigram.get(trigrams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (lists[i].contains(result[j])) {
+                    result[kept++] = result[j];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+
+import java.util.List;
+
+/**
+ * Переносимый поиск через LIKE: совпадения в названии выше совпадений только в описании.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "jpql", matchIfMissing = true)
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+    private final JpaItemRepository itemRepository;
+
+    @Override
+    public List<ItemDtoResponse> search(String text, Pageable pageable) {
+        return itemRepository.searchInTitleAndDescription("%" + text.toLowerCase() + "%", pageable);
+    }
+}
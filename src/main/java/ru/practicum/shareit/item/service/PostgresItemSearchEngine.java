@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск на PostgreSQL: ILIKE обслуживается GIN-индексами pg_trgm из миграции V3 для PostgreSQL,
+ * релевантность считается через similarity(). Нативный запрос возвращает сущности, они переводятся в DTO.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final JpaItemRepository itemRepository;
+    private final ItemMapper mapper;
+
+    @Override
+    public List<ItemDtoResponse> search(String text, Pageable pageable) {
+        return itemRepository.searchBySimilarity(text, "%" + escapeLike(text) + "%", pageable).stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
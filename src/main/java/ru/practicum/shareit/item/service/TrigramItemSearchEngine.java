@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.TransactionCallbacks;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по триграммному индексу в памяти для БД без расширений полнотекстового поиска.
+ * Индекс строится при старте и обновляется после коммита сохранения вещи; найденные кандидаты
+ * загружаются одним запросом сразу в DTO и перепроверяются. Короткие запросы и ID вне диапазона int
+ * обслуживает запрос через LIKE.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private final JpaItemRepository itemRepository;
+    private final ItemTrigramIndex index = new ItemTrigramIndex();
+
+    private volatile boolean enabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long lastId = 0L;
+        int count = 0;
+        List<Item> batch;
+        try {
+            do {
+                batch = itemRepository.findAllByIdGreaterThanOrderById(lastId, OffsetPageRequest.of(0L, BUILD_BATCH_SIZE));
+                for (Item item : batch) {
+                    index.add(Math.toIntExact(item.getId()), item.getName(), item.getDescription(),
+                            Boolean.TRUE.equals(item.getAvailable()));
+                    lastId = item.getId();
+                }
+                count += batch.size();
+            } while (batch.size() == BUILD_BATCH_SIZE);
+        } catch (ArithmeticException e) {
+            log.warn("ID вещи {} не помещается в триграммный индекс, поиск выполняется через БД", lastId);
+            return;
+        }
+        enabled = true;
+        log.info("Триграммный индекс вещей построен, вещей: {}", count);
+    }
+
+    @Override
+    public List<ItemDtoResponse> search(String text, Pageable pageable) {
+        if (!enabled || text.length() < ItemTrigramIndex.TRIGRAM_LENGTH) {
+            return itemRepository.searchInTitleAndDescription("%" + text.toLowerCase() + "%", pageable);
+        }
+        int[] candidates = index.candidates(text);
+        String needle = text.toLowerCase(Locale.ROOT);
+        long toSkip = pageable.getOffset();
+        List<ItemDtoResponse> page = new ArrayList<>();
+        int position = 0;
+        while (position < candidates.length && page.size() < pageable.getPageSize()) {
+            int chunkEnd = (int) Math.min(candidates.length, position + toSkip + pageable.getPageSize() - page.size());
+            List<Long> ids = Arrays.stream(candidates, position, chunkEnd)
+                    .mapToObj(Long::valueOf)
+                    .collect(Collectors.toList());
+            Map<Long, ItemDtoResponse> loaded = itemRepository.findResponsesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(ItemDtoResponse::getId, Function.identity()));
+            for (Long id : ids) {
+                ItemDtoResponse item = loaded.get(id);
+                if (item == null || !matches(item, needle) || page.size() == pageable.getPageSize()) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    page.add(item);
+                }
+            }
+            position = chunkEnd;
+        }
+        return page;
+    }
+
+    @Override
+    public void onSaved(Item previous, Item saved) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (!enabled) {
+                return;
+            }
+            try {
+                int itemId = Math.toIntExact(saved.getId());
+                if (previous != null) {
+                    index.remove(itemId, previous.getName(), previous.getDescription());
+                }
+                index.add(itemId, saved.getName(), saved.getDescription(), Boolean.TRUE.equals(saved.getAvailable()));
+            } catch (ArithmeticException e) {
+                enabled = false;
+                log.warn("ID вещи {} не помещается в триграммный индекс, поиск выполняется через БД", saved.getId());
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static boolean matches(ItemDtoResponse item, String needle) {
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (contains(item.getName(), needle) || contains(item.getDescription(), needle));
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+}
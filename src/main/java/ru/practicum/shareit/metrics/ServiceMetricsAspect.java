@@ -0,0 +1,83 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Метрики сервисного слоя: таймер {@code shareit.service} на каждый публичный метод сервисов с тегом
+ * исключения (его счётчик — число вызовов), счётчик ошибок {@code shareit.service.errors} и размер
+ * возвращаемых коллекций {@code shareit.result.size} для сервисов и собственных запросов репозиториев.
+ * Время самих запросов репозиториев Spring Boot пишет в {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * *(..)) && ("
+            + "within(ru.practicum.shareit.booking.service.BookingServiceImpl)"
+            + " || within(ru.practicum.shareit.item.service.ItemServiceImpl)"
+            + " || within(ru.practicum.shareit.request.service.ItemRequestServiceImpl)"
+            + " || within(ru.practicum.shareit.user.service.UserServiceImpl))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = tags(joinPoint);
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NO_EXCEPTION;
+        try {
+            Object result = joinPoint.proceed();
+            recordSize("service", tags, result);
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            registry.counter("shareit.service.errors", tags.and("exception", exception)).increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("shareit.service")
+                    .tags(tags.and("exception", exception))
+                    .register(registry));
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* ru.practicum.shareit..repository.*Repository.*(..))", returning = "result")
+    public void recordRepositoryResult(JoinPoint joinPoint, Object result) {
+        recordSize("repository", tags(joinPoint), result);
+    }
+
+    private void recordSize(String layer, Tags tags, Object result) {
+        int size;
+        if (result instanceof Collection) {
+            size = ((Collection<?>) result).size();
+        } else if (result instanceof Slice) {
+            size = ((Slice<?>) result).getNumberOfElements();
+        } else if (result instanceof Optional) {
+            size = ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else {
+            return;
+        }
+        DistributionSummary.builder("shareit.result.size")
+                .tags(tags.and("layer", layer))
+                .register(registry)
+                .record(size);
+    }
+
+    private static Tags tags(JoinPoint joinPoint) {
+        return Tags.of("class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName());
+    }
+}
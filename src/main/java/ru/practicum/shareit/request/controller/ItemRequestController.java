@@ -11,10 +11,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
@@ -45,9 +47,18 @@ public class ItemRequestController {
     @GetMapping("/all")
     public List<ItemRequestDtoResponse> getAvailableItemRequests(@RequestHeader("X-Sharer-User-id") Long userId,
                                                                  @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                                 @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
-        log.info("Получение списка запросов, начиная с '{}', по '{}' элемента на странице.", from, size);
-        return itemRequestService.getAvailableItemRequests(userId, from, size);
+                                                                 @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 HttpServletResponse response) {
+        log.info("Получение списка запросов, начиная с '{}', по '{}' элемента на странице.", cursor == null ? from : cursor, size);
+        List<ItemRequestDtoResponse> requests = cursor == null
+                ? itemRequestService.getAvailableItemRequests(userId, from, size)
+                : itemRequestService.getAvailableItemRequestsAfter(userId, PageCursor.decode(cursor), size);
+        if (requests.size() == size) {
+            ItemRequestDtoResponse last = requests.get(requests.size() - 1);
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(last.getCreated(), last.getId()).encode());
+        }
+        return requests;
     }
 
     @GetMapping("/{requestId}")
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoResponse> getAvailableItemRequests(Long userId, Long from, Integer size);
 
+    List<ItemRequestDtoResponse> getAvailableItemRequestsAfter(Long userId, PageCursor cursor, Integer size);
+
     ItemRequestDtoResponse getItemRequestById(Long userId, Long requestId);
 }
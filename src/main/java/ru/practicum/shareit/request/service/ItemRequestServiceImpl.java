@@ -2,10 +2,11 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -13,7 +14,9 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.JpaItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -24,6 +27,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final JpaItemRequestRepository itemRequestRepository;
     private final JpaUserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final ItemRequestMapper itemRequestMapper;
 
     @Override
@@ -37,7 +41,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDtoResponse> getAllItemRequestsFromUser(Long userId) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         List<ItemRequest> requests = itemRequestRepository.findRequestsFromUser(userId);
         List<ItemRequestDtoResponse> responseItems = itemRequestMapper.toDtoResponseList(requests);
         addRequestIdToItem(responseItems);
@@ -46,17 +50,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDtoResponse> getAvailableItemRequests(Long userId, Long from, Integer size) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(userId, pageRequest);
-        List<ItemRequestDtoResponse> responseItems = itemRequestMapper.toDtoResponseList(requests.getContent());
-        addRequestIdToItem(responseItems);
-        return responseItems;
+        return findAllWithItems(itemRequestRepository.findAvailableRequestIds(userId, pageRequest));
+    }
+
+    @Override
+    public List<ItemRequestDtoResponse> getAvailableItemRequestsAfter(Long userId, PageCursor cursor, Integer size) {
+        checkUserExists(userId);
+        if (cursor.getTimestamp() == null) {
+            throw new ValidationException(String.format("Некорректный курсор пагинации: %s", cursor.encode()));
+        }
+        List<Long> ids = itemRequestRepository.findAvailableRequestIdsAfter(userId, cursor.getTimestamp(), cursor.getId(),
+                OffsetPageRequest.of(0L, size));
+        return findAllWithItems(ids);
     }
 
     @Override
     public ItemRequestDtoResponse getItemRequestById(Long userId, Long requestId) {
-        getUserIfPresent(userId);
+        checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(String.format("Запрос с ID%d не найден", requestId)));
         ItemRequestDtoResponse itemRequestDtoResponse = itemRequestMapper.toResponse(itemRequest);
@@ -66,6 +78,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestDtoResponse;
     }
 
+    private List<ItemRequestDtoResponse> findAllWithItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ItemRequestDtoResponse> responseItems = itemRequestMapper
+                .toDtoResponseList(itemRequestRepository.findAllWithItemsByIdIn(ids));
+        addRequestIdToItem(responseItems);
+        return responseItems;
+    }
+
     private void addRequestIdToItem(List<ItemRequestDtoResponse> responseItems) {
         responseItems.forEach(res -> {
             res.getItems().forEach(item -> {
@@ -74,6 +96,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         });
     }
 
+    private void checkUserExists(Long userId) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException(String.format("Пользователь с ID%d не найден", userId));
+        }
+    }
+
     private User getUserIfPresent(Long userId) {
         return userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID%d не найден", userId)));
     }
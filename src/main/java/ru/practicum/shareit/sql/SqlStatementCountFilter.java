@@ -0,0 +1,53 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Считает SQL-выражения на каждый HTTP-запрос: пишет их число в метрику {@code shareit.http.sql.statements}
+ * с тегами метода и шаблона пути, кладёт в атрибут запроса {@link #STATEMENTS_ATTRIBUTE} для тестов
+ * и предупреждает в логе, если запрос превысил порог.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".statements";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry registry;
+
+    @Value("${shareit.sql.statements.warn-threshold:20}")
+    private long warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = counter.get();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+            DistributionSummary.builder("shareit.http.sql.statements")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry)
+                    .record(statements);
+            if (statements > warnThreshold) {
+                log.warn("Запрос {} {} выполнил {} SQL-выражений", request.getMethod(), uri, statements);
+            }
+        }
+    }
+}
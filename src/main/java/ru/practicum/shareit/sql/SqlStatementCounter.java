@@ -0,0 +1,33 @@
+package ru.practicum.shareit.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Счётчик SQL-выражений, выполненных текущим потоком. Батч считается одним обращением к БД.
+ * Запрос к контроллеру обслуживается одним потоком, поэтому счётчик между {@link #reset()}
+ * и {@link #get()} показывает, во сколько обращений к БД обошёлся запрос.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+    private final ThreadLocal<long[]> count = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        count.get()[0]++;
+    }
+
+    public void reset() {
+        count.get()[0] = 0;
+    }
+
+    public long get() {
+        return count.get()[0];
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает все источники данных в datasource-proxy со {@link SqlStatementCounter}. Фильтр подключается
+ * здесь, а не сканированием, чтобы срезы {@code @WebMvcTest} без БД и метрик обходились без него.
+ */
+@Configuration
+public class SqlStatementCountingConfiguration {
+
+    @Bean
+    public static SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(SqlStatementCounter counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(counter)
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementCountFilter sqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry registry) {
+        return new SqlStatementCountFilter(counter, registry);
+    }
+}
@@ -1,9 +1,16 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.user.controller.dto.UserDtoResponse;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 @Repository
 public interface JpaUserRepository extends JpaRepository<User, Long> {
+
+    @Query("SELECT new ru.practicum.shareit.user.controller.dto.UserDtoResponse(u.id, u.name, u.email) FROM User u ORDER BY u.id")
+    List<UserDtoResponse> findAllResponses();
 }
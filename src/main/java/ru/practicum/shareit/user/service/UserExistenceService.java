@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.cache.TransactionCallbacks;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.JpaUserRepository;
+
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Проверка существования пользователя без загрузки сущности. Известные ID хранятся битовой маской,
+ * при промахе выполняется existsById. Удаление сбрасывает бит сразу и ещё раз после коммита,
+ * а счётчик удалений не даёт запросу, начатому до удаления, вернуть ID обратно в маску.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExistenceService {
+    private final JpaUserRepository userRepository;
+
+    private final BitSet knownIds = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long deletions;
+
+    public boolean exists(Long userId) {
+        long version = deletions;
+        lock.readLock().lock();
+        try {
+            if (isIndexable(userId) && knownIds.get(userId.intValue())) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            add(userId, version);
+        }
+        return exists;
+    }
+
+    public void onCreated(User user) {
+        TransactionCallbacks.afterCommit(() -> add(user.getId(), deletions));
+    }
+
+    public void onDeleted(Long userId) {
+        remove(userId);
+        TransactionCallbacks.afterCommit(() -> remove(userId));
+    }
+
+    private void add(Long userId, long version) {
+        if (!isIndexable(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (deletions == version) {
+                knownIds.set(userId.intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            deletions++;
+            if (isIndexable(userId)) {
+                knownIds.clear(userId.intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isIndexable(Long userId) {
+        return userId != null && userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+}
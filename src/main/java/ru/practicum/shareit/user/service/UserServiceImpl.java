@@ -3,7 +3,11 @@ package ru.practicum.shareit.user.service;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.BookingStatsCache;
+import ru.practicum.shareit.cache.EntityCacheService;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.controller.dto.UserDtoRequest;
 import ru.practicum.shareit.user.controller.dto.UserDtoResponse;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -11,19 +15,22 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
     private final JpaUserRepository userRepository;
     private final UserMapper mapper;
+    private final EntityCacheService entityCache;
+    private final UserExistenceService userExistenceService;
+    private final BookingStatsCache statsCache;
 
     @Override
     @Transactional
     public UserDtoResponse create(UserDtoRequest request) {
         User user = mapper.toUser(request);
         userRepository.save(user);
+        userExistenceService.onCreated(user);
 
         return mapper.toResponse(user);
     }
@@ -41,8 +48,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public List<UserDtoResponse> getAll() {
-        List<User> users = userRepository.findAll();
-        return users.stream().map(mapper::toResponse).collect(Collectors.toList());
+        return userRepository.findAllResponses();
     }
 
     @Override
@@ -57,6 +63,9 @@ public class UserServiceImpl implements UserService {
     public void delete(Long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID%d не найден", id)));
         userRepository.delete(user);
+        userExistenceService.onDeleted(id);
+        entityCache.evictAfterCommit(Item.class, ItemRequest.class);
+        statsCache.invalidateAll();
     }
 
 }
\ No newline at end of file
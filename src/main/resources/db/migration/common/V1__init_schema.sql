@@ -1,20 +1,24 @@
-DROP TABLE IF EXISTS users, requests, items, bookings, comments;
+-- шаг совпадает с allocationSize сущностей: Hibernate раздаёт ID блоками по 50 и может батчить вставки
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
 
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(64) NOT NULL,
     email VARCHAR(64) UNIQUE NOT NULL
     );
 
-CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+CREATE TABLE requests (
+    id BIGINT NOT NULL PRIMARY KEY,
     description VARCHAR(512) NOT NULL,
     created timestamp NOT NULL,
     requester_id BIGINT REFERENCES users (id) ON DELETE CASCADE
     );
 
-CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+CREATE TABLE items (
+    id BIGINT PRIMARY KEY,
     name VARCHAR(64) NOT NULL,
     description VARCHAR(512) NOT NULL,
     is_available BOOLEAN NOT NULL,
@@ -22,8 +26,8 @@ CREATE TABLE IF NOT EXISTS items (
     request_id BIGINT REFERENCES requests (id)
     );
 
-CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+CREATE TABLE bookings (
+    id BIGINT PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
@@ -31,8 +35,10 @@ CREATE TABLE IF NOT EXISTS bookings (
     status VARCHAR(64) NOT NULL
     );
 
-CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+CREATE INDEX bookings_item_status_period_idx ON bookings (item_id, status, start_date, end_date);
+
+CREATE TABLE comments (
+    id BIGINT PRIMARY KEY,
     text VARCHAR(512) NOT NULL,
     item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
     author_id BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
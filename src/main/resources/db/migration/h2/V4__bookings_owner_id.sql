@@ -0,0 +1,6 @@
+-- владелец вещи дублируется в бронировании: списки владельца фильтруются без соединения с items
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT REFERENCES users (id) ON DELETE CASCADE;
+
+UPDATE bookings b SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = b.item_id);
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
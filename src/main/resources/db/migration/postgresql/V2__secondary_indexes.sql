@@ -0,0 +1,19 @@
+-- индексы строятся без блокировки записи; Flyway выполняет такую миграцию вне транзакции
+
+-- бронирования арендатора: фильтр по booker_id, сортировка по началу от новых к старым
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC);
+
+-- бронирования владельца: соединение с items по item_id, та же сортировка
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date DESC);
+
+-- вещи владельца по порядку ID (смещение и курсор) и вещи по запросу
+CREATE INDEX CONCURRENTLY IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS items_request_idx ON items (request_id);
+
+-- отзывы к вещам и удаление пользователя каскадом
+CREATE INDEX CONCURRENTLY IF NOT EXISTS comments_item_created_idx ON comments (item_id, created);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS comments_author_idx ON comments (author_id);
+
+-- свои запросы пользователя и лента чужих запросов от новых к старым
+CREATE INDEX CONCURRENTLY IF NOT EXISTS requests_requester_created_idx ON requests (requester_id, created DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS requests_created_id_idx ON requests (created DESC, id DESC);
@@ -0,0 +1,18 @@
+-- ограничение на пересечения и триграммный поиск есть только в PostgreSQL
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- базы, созданные прежним schema-postgres.sql, уже содержат ограничение
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_item_period_excl') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_item_period_excl
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+            WHERE (status <> 'REJECTED');
+    END IF;
+END
+$$;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (description gin_trgm_ops);
@@ -0,0 +1,43 @@
+-- владелец вещи дублируется в бронировании: списки владельца фильтруются без соединения с items.
+-- Скрипт идёт вне транзакции (см. .conf): заполнение коммитится пачками и не держит блокировки строк
+-- всей таблицы, а NOT NULL и внешний ключ проверяются без эксклюзивной блокировки на время прохода.
+-- Каждый шаг можно повторить после сбоя.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_owner_id_fkey;
+ALTER TABLE bookings ADD CONSTRAINT bookings_owner_id_fkey
+    FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE NOT VALID;
+
+-- пачки идут по первичному ключу, каждая проходит свой диапазон ID один раз
+DO $$
+DECLARE
+    batch_start BIGINT := 0;
+    max_id BIGINT;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM bookings;
+    WHILE batch_start < max_id LOOP
+        UPDATE bookings b SET owner_id = i.owner_id
+        FROM items i
+        WHERE i.id = b.item_id AND b.owner_id IS NULL
+          AND b.id > batch_start AND b.id <= batch_start + 10000;
+        batch_start := batch_start + 10000;
+        COMMIT;
+    END LOOP;
+END
+$$;
+
+-- NOT VALID-ограничение действует на новые строки сразу; бронирования, добавленные во время заполнения,
+-- дописываются после него
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_owner_id_not_null;
+ALTER TABLE bookings ADD CONSTRAINT bookings_owner_id_not_null CHECK (owner_id IS NOT NULL) NOT VALID;
+
+UPDATE bookings b SET owner_id = i.owner_id
+FROM items i
+WHERE i.id = b.item_id AND b.owner_id IS NULL;
+
+ALTER TABLE bookings VALIDATE CONSTRAINT bookings_owner_id_not_null;
+ALTER TABLE bookings VALIDATE CONSTRAINT bookings_owner_id_fkey;
+
+-- с проверенным CHECK PostgreSQL 12+ ставит NOT NULL без прохода по таблице, после чего CHECK не нужен
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE bookings DROP CONSTRAINT bookings_owner_id_not_null;
@@ -0,0 +1,2 @@
+-- бронирования владельца по денормализованному owner_id, сортировка по началу от новых к старым
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_owner_start_idx ON bookings (owner_id, start_date DESC);
@@ -0,0 +1,13 @@
+-- приложение владельца вещи не меняет; если его переназначат в базе, бронирования переходят вместе с вещью
+CREATE OR REPLACE FUNCTION bookings_sync_owner() RETURNS trigger AS $$
+BEGIN
+    UPDATE bookings SET owner_id = NEW.owner_id WHERE item_id = NEW.id;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER items_owner_sync
+    AFTER UPDATE OF owner_id ON items
+    FOR EACH ROW
+    WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+    EXECUTE PROCEDURE bookings_sync_owner();
@@ -0,0 +1,23 @@
+-- база, помеченная базовой версией 1, не выполняла V1: последовательностей в ней нет, а ID в таблицах уже заняты.
+-- Следующий блок ID начинается выше максимального; последовательность, ушедшая дальше, назад не сдвигается.
+-- шаг совпадает с allocationSize сущностей
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('requests_seq', GREATEST(t.max_id + 1, s.next_id), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM requests) t,
+     (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END AS next_id FROM requests_seq) s;
+
+SELECT setval('items_seq', GREATEST(t.max_id + 1, s.next_id), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM items) t,
+     (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END AS next_id FROM items_seq) s;
+
+SELECT setval('bookings_seq', GREATEST(t.max_id + 1, s.next_id), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM bookings) t,
+     (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END AS next_id FROM bookings_seq) s;
+
+SELECT setval('comments_seq', GREATEST(t.max_id + 1, s.next_id), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM comments) t,
+     (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END AS next_id FROM comments_seq) s;
@@ -0,0 +1,3 @@
+-- в базе, помеченной базовой версией 1, V1 не выполнялась и индекса проверки пересечений бронирований нет;
+-- в новой базе он уже создан в V1, и миграция ничего не меняет
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_item_status_period_idx ON bookings (item_id, status, start_date, end_date);
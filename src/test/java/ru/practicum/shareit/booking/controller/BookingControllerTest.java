@@ -8,38 +8,52 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.user.controller.dto.UserDtoResponse;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -48,6 +62,9 @@ class BookingControllerTest {
     @MockBean
     private BookingServiceImpl bookingService;
 
+    @MockBean
+    private BookingExportService exportService;
+
     @Autowired
     private MockMvc mvc;
 
@@ -218,6 +235,92 @@ class BookingControllerTest {
         verify(bookingService, times(1)).approve(userId, bookingId, approved);
     }
 
+    @Test
+    @DisplayName("Пакетное подтверждение бронирований")
+    @SneakyThrows
+    void approveAll_ShouldReturnStatus200() {
+        List<Long> bookingIds = List.of(2L, 3L);
+        when(bookingService.approveAll(userId, bookingIds, true))
+                .thenReturn(new BookingBatchResult(List.of(bookingDtoResponse), List.of(3L), List.of(4L)));
+
+        mvc.perform(patch("/bookings/batch")
+                        .header(header, userId)
+                        .param("approved", "true")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].id", is(bookingDtoResponse.getId()), Long.class))
+                .andExpect(jsonPath("$.skippedIds[0]", is(3)))
+                .andExpect(jsonPath("$.autoRejectedIds[0]", is(4)));
+
+        verify(bookingService, times(1)).approveAll(userId, bookingIds, true);
+    }
+
+    @Test
+    @DisplayName("Пакетное подтверждение с пустым списком")
+    @SneakyThrows
+    void approveAll_WithEmptyIds_ShouldReturnStatus400() {
+        mvc.perform(patch("/bookings/batch")
+                        .header(header, userId)
+                        .param("approved", "true")
+                        .contentType(APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).approveAll(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Выгрузка бронирований владельца в CSV")
+    @SneakyThrows
+    void export_AsOwnerInCsv_ShouldStreamBody() {
+        StreamingResponseBody body = out -> out.write("id\n2\n".getBytes(StandardCharsets.UTF_8));
+        when(exportService.export(BookingRole.OWNER, userId, BookingExportFormat.CSV))
+                .thenReturn(body);
+
+        MvcResult result = mvc.perform(get("/bookings/export")
+                        .header(header, userId)
+                        .param("role", "OWNER")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings.csv"))
+                .andExpect(content().string("id\n2\n"));
+    }
+
+    @Test
+    @DisplayName("Выгрузка бронирований неизвестного пользователя")
+    @SneakyThrows
+    void export_WhenUserNotFound_ShouldReturn404() {
+        when(exportService.export(BookingRole.BOOKER, userId, BookingExportFormat.NDJSON))
+                .thenThrow(new NotFoundException("Пользователь с ID " + userId + " не найден."));
+
+        mvc.perform(get("/bookings/export")
+                        .header(header, userId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Счётчики бронирований владельца по состояниям")
+    @SneakyThrows
+    void getStats_AsOwner_ShouldReturnCountPerState() {
+        when(bookingService.getStats(userId, BookingRole.OWNER))
+                .thenReturn(Map.of(State.ALL, 3L, State.CURRENT, 1L, State.PAST, 1L, State.FUTURE, 1L,
+                        State.WAITING, 2L, State.REJECTED, 0L));
+
+        mvc.perform(get("/bookings/stats")
+                        .header(header, userId)
+                        .param("role", "OWNER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL", is(3)))
+                .andExpect(jsonPath("$.WAITING", is(2)))
+                .andExpect(jsonPath("$.REJECTED", is(0)));
+    }
+
     @Test
     @DisplayName("Подтверждение бронирования недоступной вещи")
     @SneakyThrows
@@ -409,6 +512,39 @@ class BookingControllerTest {
         verify(bookingService, times(1)).getAllByBooker(userId, state, from, size);
     }
 
+    @Test
+    @DisplayName("Поиск бронирований пользователя по курсору")
+    @SneakyThrows
+    void getAllByBooker_WithCursor_ShouldUseKeysetPageAndReturnNextCursor() {
+        int size = 1;
+        PageCursor cursor = PageCursor.of(START.plusDays(10), 10L);
+        when(bookingService.getAllByBookerAfter(userId, State.ALL, cursor, size))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        mvc.perform(get("/bookings")
+                        .header(header, userId)
+                        .param("cursor", cursor.encode())
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(bookingDtoResponse.getStart(), bookingDtoResponse.getId()).encode()));
+
+        verify(bookingService, never()).getAllByBooker(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Поиск бронирований пользователя с некорректным курсором")
+    @SneakyThrows
+    void getAllByBooker_WithBrokenCursor_ShouldReturnStatus400() {
+        mvc.perform(get("/bookings")
+                        .header(header, userId)
+                        .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).getAllByBookerAfter(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Поиск всех бронирований пользователя, запрос без заголовка")
     @SneakyThrows
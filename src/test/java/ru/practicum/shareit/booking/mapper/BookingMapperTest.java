@@ -94,6 +94,7 @@ class BookingMapperTest {
         assertThat(booking.getStart(), is(bookingDtoRequest.getStart()));
         assertThat(booking.getEnd(), is(bookingDtoRequest.getEnd()));
         assertThat(booking.getItem(), is(item));
+        assertThat(booking.getOwnerId(), is(item.getOwner().getId()));
         assertThat(booking.getStatus(), is(Status.WAITING));
     }
 
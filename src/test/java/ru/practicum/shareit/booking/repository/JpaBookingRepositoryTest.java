@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -9,20 +11,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStateCounts;
+import ru.practicum.shareit.booking.model.BookingStatusRow;
+import ru.practicum.shareit.booking.model.ItemBookingSlot;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.pageable.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static java.time.LocalDateTime.now;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -40,6 +55,9 @@ class JpaBookingRepositoryTest {
     @Autowired
     private JpaUserRepository userStorage;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Item savedItem1;
 
     private Item savedItem2;
@@ -74,6 +92,7 @@ class JpaBookingRepositoryTest {
 
         Booking booking1 = createBooking(1L);
         booking1.setItem(savedItem1);
+        booking1.setOwnerId(savedItem1.getOwner().getId());
         booking1.setBooker(savedUser2);
         booking1.setStart(now().minusDays(5));
         booking1.setEnd(now().minusDays(1));
@@ -81,18 +100,21 @@ class JpaBookingRepositoryTest {
 
         Booking booking2 = createBooking(2L);
         booking2.setItem(savedItem1);
+        booking2.setOwnerId(savedItem1.getOwner().getId());
         booking2.setBooker(savedUser2);
         booking2.setStart(now().minusDays(1));
         savedBooking2 = bookingStorage.save(booking2);
 
         Booking booking3 = createBooking(3L);
         booking3.setItem(savedItem2);
+        booking3.setOwnerId(savedItem2.getOwner().getId());
         booking3.setBooker(savedUser1);
         savedBooking3 = bookingStorage.save(booking3);
         pageRequest = OffsetPageRequest.of(0L, 1);
 
         Booking booking4 = createBooking(3L);
         booking4.setItem(savedItem2);
+        booking4.setOwnerId(savedItem2.getOwner().getId());
         booking4.setBooker(savedUser2);
         booking4.setStart(now().plusDays(1));
         booking4.setEnd(now().plusDays(5));
@@ -109,8 +131,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск бронирований по id пользователя, делающего бронирование")
-    void findAllByBookerIdOrderByStartDesc_WithPageable_ShouldReturnListOfBookingsOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByBookerIdOrderByStartDesc(savedUser2.getId(), pageRequest);
+    void findPage_ForBooker_WithPageable_ShouldReturnListOfBookingsOrderByStartDesc() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.BOOKER, savedUser2.getId(), State.ALL, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -119,8 +141,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск прошедших бронирований по id пользователя, делающего бронирование")
-    void findAllByBookerIdAndEndIsBeforeOrderByStartDesc_ShouldReturnListOfBookingWhereEndBeforeNowWithPageableOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(savedUser2.getId(), now(), pageRequest);
+    void findPage_ForBookerAndPastState_ShouldReturnListOfBookingWhereEndBeforeNow() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.BOOKER, savedUser2.getId(), State.PAST, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -129,8 +151,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск будущих бронирований по id пользователя, делающего бронирование")
-    void findAllByBookerIdAndStartIsAfterOrderByStartDesc_ShouldReturnBookingWhereStartIsAfterNowWithPageableOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByBookerIdAndStartIsAfterOrderByStartDesc(savedUser2.getId(), now(), pageRequest);
+    void findPage_ForBookerAndFutureState_ShouldReturnBookingWhereStartIsAfterNow() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.BOOKER, savedUser2.getId(), State.FUTURE, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -139,9 +161,9 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск текущих бронирований по id пользователя, делающего бронирование")
-    void findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc_ShouldReturnListOfBookingWhereStartIsBeforeAndEndIsAfterOrderByStartDesc() {
+    void findPage_ForBookerAndCurrentState_ShouldReturnListOfBookingWhereStartIsBeforeAndEndIsAfterNow() {
         savedBooking2.setEnd(now().minusDays(1));
-        List<Booking> bookings = bookingStorage.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(savedUser2.getId(), now(), now().plusDays(1), pageRequest);
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.BOOKER, savedUser2.getId(), State.CURRENT, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -150,9 +172,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск бронирований по id пользователя, делающего бронирование и статусу бронирования")
-    void findAllByBookerIdAndStatusIsOrderByStartDesc_ShouldReturnListOfBookingWithStatusWaitingWithPageable() {
-        List<Booking> bookings = bookingStorage.findAllByBookerIdAndStatusIsOrderByStartDesc(savedUser1.getId(), Status.WAITING,
-                pageRequest);
+    void findPage_ForBookerAndWaitingState_ShouldReturnListOfBookingWithStatusWaiting() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.BOOKER, savedUser1.getId(), State.WAITING, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -161,8 +182,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск бронирований по id владельца")
-    void findAllByItemOwnerIdOrderByStartDesc_WithPageable_ShouldReturnListOfBookingsOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdOrderByStartDesc(savedUser1.getId(), pageRequest);
+    void findPage_ForOwner_WithPageable_ShouldReturnListOfBookingsOrderByStartDesc() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.OWNER, savedUser1.getId(), State.ALL, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -171,8 +192,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск прошедших бронирований по id владельца")
-    void findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc_ShouldReturnListOfBookingWhereEndBeforeNowWithPageableOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(savedUser1.getId(), now(), pageRequest);
+    void findPage_ForOwnerAndPastState_ShouldReturnListOfBookingWhereEndBeforeNow() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.OWNER, savedUser1.getId(), State.PAST, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -181,8 +202,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск будущих бронирований по id владельца")
-    void findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc_ShouldReturnBookingWhereStartIsAfterNowWithPageableOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(savedUser1.getId(), now(), pageRequest);
+    void findPage_ForOwnerAndFutureState_ShouldReturnBookingWhereStartIsAfterNow() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.OWNER, savedUser1.getId(), State.FUTURE, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -191,9 +212,9 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск текущих бронирований по id владельца")
-    void findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc_ShouldReturnListOfBookingWhereStartIsBeforeAndEndIsAfterOrderByStartDesc() {
+    void findPage_ForOwnerAndCurrentState_ShouldReturnListOfBookingWhereStartIsBeforeAndEndIsAfterNow() {
         savedBooking2.setEnd(now().minusDays(1));
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(savedUser1.getId(), now(), now().plusDays(1), pageRequest);
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.OWNER, savedUser1.getId(), State.CURRENT, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -202,9 +223,8 @@ class JpaBookingRepositoryTest {
 
     @Test
     @DisplayName("Поиск бронирований по id владельца")
-    void findAllByItemOwnerIdAndStatusIsOrderByStartDesc_ShouldReturnListOfBookingWithStatusWaitingWithPageable() {
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdAndStatusIsOrderByStartDesc(savedUser1.getId(), Status.WAITING,
-                pageRequest);
+    void findPage_ForOwnerAndWaitingState_ShouldReturnListOfBookingWithStatusWaiting() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.OWNER, savedUser1.getId(), State.WAITING, now(), pageRequest);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), is(1));
@@ -221,6 +241,20 @@ class JpaBookingRepositoryTest {
         assertThat(bookings.get(0).getId(), is(is(savedBooking1.getId())));
     }
 
+    @Test
+    @DisplayName("Поиск последнего и следующего бронирования вещей")
+    void findLastAndNextBookings_ShouldReturnOneSlotPerPeriod() {
+        List<ItemBookingSlot> slots = bookingStorage.findLastAndNextBookings(
+                List.of(savedItem1.getId(), savedItem2.getId()), Status.REJECTED, now());
+
+        assertThat(slots.size(), is(2));
+        ItemBookingSlot last = slots.stream().filter(s -> s.getItemId().equals(savedItem1.getId())).findFirst().orElseThrow();
+        assertThat(last.getId(), is(savedBooking2.getId()));
+        assertThat(last.getBookerId(), is(savedUser2.getId()));
+        ItemBookingSlot next = slots.stream().filter(s -> s.getItemId().equals(savedItem2.getId())).findFirst().orElseThrow();
+        assertThat(next.getId(), is(savedBooking4.getId()));
+    }
+
     @Test
     @DisplayName("Поиск бронирований по id вещи и id пользователя делающего бронирование")
     void findFirstByItemIdAndBookerIdOrderByStart_ShouldReturnListOfBookings() {
@@ -238,6 +272,133 @@ class JpaBookingRepositoryTest {
         assertTrue(optionalBooking.isEmpty());
     }
 
+    @Test
+    @DisplayName("Проверка пересечения интервала с неотклонёнными бронированиями вещи")
+    void existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter_ShouldDetectOverlapOnlyInsideBookedPeriods() {
+        assertTrue(bookingStorage.existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter(savedItem1.getId(),
+                Status.REJECTED, now().minusDays(2), now().minusDays(3)));
+        assertThat(bookingStorage.existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter(savedItem1.getId(),
+                Status.REJECTED, now().plusDays(9), now().plusDays(8)), is(false));
+        assertThat(bookingStorage.existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter(savedItem1.getId(),
+                Status.WAITING, now().minusDays(2), now().minusDays(3)), is(false));
+    }
+
+    @Test
+    @DisplayName("Проверка пересечения бронирования с другими бронированиями вещи в статусе")
+    void existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter_ShouldIgnoreBookingItself() {
+        assertThat(bookingStorage.existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(savedItem1.getId(),
+                savedBooking1.getId(), Status.WAITING, now().minusDays(2), now().minusDays(3)), is(false));
+        assertTrue(bookingStorage.existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(savedItem1.getId(),
+                savedBooking2.getId(), Status.WAITING, now().minusDays(2), now().minusDays(3)));
+        assertThat(bookingStorage.existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(savedItem1.getId(),
+                savedBooking2.getId(), Status.APPROVED, now().minusDays(2), now().minusDays(3)), is(false));
+    }
+
+    @Test
+    @DisplayName("Поиск страницы бронирований пользователя после курсора")
+    void findPageAfter_ForBooker_ShouldReturnBookingsOlderThanCursorOrderByStartDesc() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPageAfter(BookingRole.BOOKER, savedUser2.getId(), State.ALL, now(),
+                PageCursor.of(savedBooking4.getStart(), savedBooking4.getId()), 10);
+
+        assertThat(bookings.size(), is(2));
+        assertThat(bookings.get(0).getId(), is(savedBooking2.getId()));
+        assertThat(bookings.get(1).getId(), is(savedBooking1.getId()));
+    }
+
+    @Test
+    @DisplayName("Поиск страницы бронирований владельца после курсора с фильтром по состоянию")
+    void findPageAfter_ForOwnerAndPastState_ShouldReturnOnlyPastBookings() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPageAfter(BookingRole.OWNER, savedUser1.getId(), State.PAST, now(),
+                PageCursor.of(now().plusYears(1), Long.MAX_VALUE), 10);
+
+        assertThat(bookings.size(), is(1));
+        assertThat(bookings.get(0).getId(), is(savedBooking1.getId()));
+    }
+
+    @Test
+    @DisplayName("Страница бронирований владельца выбирается сразу в DTO")
+    void findPage_ForOwner_ShouldReturnResponsesWithItemAndBooker() {
+        List<BookingDtoResponse> bookings = bookingStorage.findPage(BookingRole.OWNER, savedUser1.getId(), State.ALL, now(),
+                OffsetPageRequest.of(0L, 10));
+
+        assertThat(bookings.size(), is(4));
+        assertThat(bookings.get(0).getItem().getName(), notNullValue());
+        assertThat(bookings.get(0).getBooker().getEmail(), notNullValue());
+    }
+
+    @Test
+    @DisplayName("Число бронирований арендатора и владельца по каждому состоянию одним запросом")
+    void countByState_ShouldCountEveryStateForBookerAndOwner() {
+        BookingStateCounts booker = bookingStorage.countByState(BookingRole.BOOKER, savedUser2.getId(), now());
+        BookingStateCounts owner = bookingStorage.countByState(BookingRole.OWNER, savedUser1.getId(), now());
+
+        assertThat(booker.getCounts(), is(Map.of(State.ALL, 3L, State.CURRENT, 1L, State.PAST, 1L, State.FUTURE, 1L,
+                State.WAITING, 3L, State.REJECTED, 0L)));
+        assertThat(booker.getChangesAt(), notNullValue());
+        assertThat(owner.getCounts(), is(Map.of(State.ALL, 4L, State.CURRENT, 1L, State.PAST, 1L, State.FUTURE, 2L,
+                State.WAITING, 4L, State.REJECTED, 0L)));
+    }
+
+    @Test
+    @DisplayName("Вставка сотни бронирований уходит батчами, ID берутся из последовательности блоками")
+    void saveAll_ShouldInsertInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<Booking> bookings = LongStream.rangeClosed(1, 100)
+                .mapToObj(i -> Booking.builder()
+                        .status(Status.WAITING)
+                        .start(now().plusYears(1).plusDays(i))
+                        .end(now().plusYears(1).plusDays(i).plusHours(1))
+                        .item(savedItem2)
+                        .ownerId(savedItem2.getOwner().getId())
+                        .booker(savedUser2)
+                        .build())
+                .collect(Collectors.toList());
+
+        bookingStorage.saveAll(bookings);
+        bookingStorage.flush();
+
+        assertThat(statistics.getEntityInsertCount(), is(100L));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(6L));
+    }
+
+    @Test
+    @DisplayName("Пакетная смена статуса затрагивает только бронирования вещей владельца")
+    void updateStatusOfOwnerBookings_ShouldCheckOwnershipAndFindOverlappingWaiting() {
+        List<Long> ids = List.of(savedBooking3.getId(), savedBooking4.getId());
+
+        assertThat(bookingStorage.updateStatusOfOwnerBookings(ids, savedUser2.getId(), Status.APPROVED), is(0));
+        assertThat(bookingStorage.findStatusRowsByIdInAndOwnerIdAndStatusNot(ids, savedUser1.getId(), Status.APPROVED).size(),
+                is(2));
+        List<BookingStatusRow> overlapping = bookingStorage.findWaitingOverlapping(List.of(savedBooking3.getId()));
+        assertThat(overlapping.size(), is(1));
+        assertThat(overlapping.get(0).getBookingId(), is(savedBooking4.getId()));
+
+        assertThat(bookingStorage.rejectWaiting(List.of(savedBooking4.getId())), is(1));
+        assertThat(bookingStorage.updateStatusOfOwnerBookings(List.of(savedBooking3.getId()), savedUser1.getId(),
+                Status.APPROVED), is(1));
+        List<BookingDtoResponse> bookings = bookingStorage.findResponsesByIdIn(ids);
+        assertThat(bookings.size(), is(2));
+        assertTrue(bookings.stream().allMatch(b -> b.getStatus() == (b.getId() == savedBooking3.getId()
+                ? Status.APPROVED : Status.REJECTED)));
+    }
+
+    @Test
+    @DisplayName("Выгрузка бронирований владельца курсором от новых к старым")
+    void streamAllByOwnerId_ShouldReturnAllOwnerBookingsOrderByStartDesc() {
+        List<BookingDtoResponse> bookings;
+        try (Stream<BookingDtoResponse> stream = bookingStorage.streamAllByOwnerId(savedUser1.getId())) {
+            bookings = stream.collect(Collectors.toList());
+        }
+
+        assertThat(bookings.size(), is(4));
+        for (int i = 1; i < bookings.size(); i++) {
+            assertTrue(!bookings.get(i).getStart().isAfter(bookings.get(i - 1).getStart()));
+        }
+        assertThat(bookings.get(0).getItem().getName(), notNullValue());
+    }
+
     private Item createItem(Long id) {
         return Item.builder()
                 .name("name" + id)
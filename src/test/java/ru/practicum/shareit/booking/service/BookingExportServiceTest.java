@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExportServiceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 22, 16, 41, 8);
+
+    @Mock
+    private JpaBookingRepository bookingRepository;
+
+    @Mock
+    private UserExistenceService userExistenceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingExportService exportService;
+
+    private final long userId = 1L;
+
+    private BookingDtoResponse booking;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new BookingExportService(bookingRepository, userExistenceService, objectMapper, transactionManager);
+        booking = new BookingDtoResponse(2L, START, START.plusDays(1), Status.APPROVED,
+                3L, "drill, \"pro\"", "description", true, 4L, "booker", "booker@mail.com");
+    }
+
+    @Test
+    @DisplayName("Выгрузка в CSV с заголовком и экранированием")
+    void export_Csv_ShouldWriteHeaderAndEscapedRows() throws Exception {
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.streamAllByOwnerId(userId))
+                .thenReturn(Stream.of(booking));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(BookingRole.OWNER, userId, BookingExportFormat.CSV).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8), is(BookingExportService.CSV_HEADER + "\n"
+                + "2,2030-05-22T16:41:08,2030-05-23T16:41:08,APPROVED,3,\"drill, \"\"pro\"\"\",4,booker\n"));
+    }
+
+    @Test
+    @DisplayName("Выгрузка в NDJSON: одна строка JSON на бронирование")
+    void export_Ndjson_ShouldWriteOneJsonPerLine() throws Exception {
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.streamAllByBookerId(userId))
+                .thenReturn(Stream.of(booking, booking));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(BookingRole.BOOKER, userId, BookingExportFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(lines[0].startsWith("{\"id\":2,"), is(true));
+        verify(bookingRepository, never()).streamAllByOwnerId(userId);
+    }
+
+    @Test
+    @DisplayName("Выгрузка неизвестного пользователя отклоняется до начала ответа")
+    void export_UserNotFound_ShouldThrowNotFoundException() {
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> exportService.export(BookingRole.BOOKER, userId, BookingExportFormat.NDJSON));
+        verify(bookingRepository, never()).streamAllByBookerId(userId);
+    }
+}
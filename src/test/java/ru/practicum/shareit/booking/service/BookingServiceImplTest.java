@@ -6,13 +6,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStateCounts;
+import ru.practicum.shareit.booking.model.BookingStatusRow;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
@@ -24,9 +29,11 @@ import ru.practicum.shareit.item.repository.JpaItemRepository;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -35,6 +42,7 @@ import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -62,6 +70,15 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private ItemBookingSummaryCache summaryCache;
+
+    @Mock
+    private BookingStatsCache statsCache;
+
+    @Mock
+    private UserExistenceService userExistenceService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -145,7 +162,7 @@ class BookingServiceImplTest {
         User user = new User();
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findByIdForUpdate(itemId))
                 .thenReturn(Optional.of(item));
         when(bookingMapper.toBooking(any(), any(), any(), any()))
                 .thenReturn(booking);
@@ -154,7 +171,7 @@ class BookingServiceImplTest {
         bookingService.add(userId, bookingDtoRequest);
 
         verify(userRepository, times(1)).findById(userId);
-        verify(itemRepository, times(1)).findById(itemId);
+        verify(itemRepository, times(1)).findByIdForUpdate(itemId);
         verify(bookingRepository, times(1)).save(bookingArgumentCaptor.capture());
         Booking captorValue = bookingArgumentCaptor.getValue();
 
@@ -178,7 +195,7 @@ class BookingServiceImplTest {
         assertThat(e.getMessage(), is("Пользователь с ID " + userId + " не найден."));
 
         verify(userRepository, times(1)).findById(userId);
-        verify(itemRepository, never()).findById(any());
+        verify(itemRepository, never()).findByIdForUpdate(any());
         verify(bookingRepository, never()).save(any());
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -187,7 +204,7 @@ class BookingServiceImplTest {
     @DisplayName("Добавление бронирования, вещь не найдена")
     void addBooking_ItemNotFound_ShouldThrowNotFoundException() {
         User user = new User();
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findByIdForUpdate(itemId))
                 .thenReturn(Optional.empty());
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
@@ -199,7 +216,7 @@ class BookingServiceImplTest {
         assertThat(e.getMessage(), is("Вещь с ID" + itemId + " не найдена."));
 
 
-        verify(itemRepository, times(1)).findById(itemId);
+        verify(itemRepository, times(1)).findByIdForUpdate(itemId);
         verify(bookingRepository, never()).save(any());
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -227,15 +244,16 @@ class BookingServiceImplTest {
         User user = new User();
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findByIdForUpdate(itemId))
                 .thenReturn(Optional.of(item));
         when(bookingMapper.toBooking(any(), any(), any(), any()))
                 .thenReturn(booking);
         when(bookingMapper.toBookingDtoResponse(any()))
                 .thenReturn(bookingDtoResponse);
         bookingService.add(userId, bookingDtoRequest);
-        when(bookingRepository.findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusNotAndStartIsBeforeAndEndIsAfter(eq(itemId), eq(Status.REJECTED),
+                any(), any()))
+                .thenReturn(true);
         bookingDtoRequest.setStart(LocalDateTime.now().plusDays(2));
         ValidationException e = assertThrows(ValidationException.class,
                 () -> bookingService.add(userId, bookingDtoRequest));
@@ -250,7 +268,7 @@ class BookingServiceImplTest {
         itemOwner.setId(userId);
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findByIdForUpdate(itemId))
                 .thenReturn(Optional.of(item));
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -259,7 +277,7 @@ class BookingServiceImplTest {
         assertThat(e.getMessage(), is("Владелец вещи не может забронировать свою вещь."));
 
         verify(userRepository, times(1)).findById(userId);
-        verify(itemRepository, times(1)).findById(itemId);
+        verify(itemRepository, times(1)).findByIdForUpdate(itemId);
         verify(bookingRepository, never()).save(any());
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -268,8 +286,8 @@ class BookingServiceImplTest {
     @DisplayName("Подтверждение бронирования")
     void approve_UserAndBookingFoundAndSApprovedTrue_ShouldReturnBookingDto() {
         itemOwner.setId(userId);
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
         when(bookingRepository.save(booking))
@@ -277,20 +295,62 @@ class BookingServiceImplTest {
 
         bookingService.approve(userId, bookingId, true);
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, times(1)).findById(bookingId);
+        verify(summaryCache, never()).onStatusChanged(any());
         verify(bookingMapper, times(1)).toBookingDtoResponse(bookingArgumentCaptor.capture());
 
         Booking captorValue = bookingArgumentCaptor.getValue();
         assertThat(captorValue.getStatus(), is(Status.APPROVED));
     }
 
+    @Test
+    @DisplayName("Подтверждение ранее отклонённого бронирования")
+    void approve_WhenBookingWasRejected_ShouldInvalidateCaches() {
+        itemOwner.setId(userId);
+        booking.setStatus(Status.REJECTED);
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking))
+                .thenReturn((booking));
+
+        bookingService.approve(userId, bookingId, true);
+
+        assertThat(booking.getStatus(), is(Status.APPROVED));
+        verify(summaryCache, times(1)).onStatusChanged(booking);
+        verify(statsCache, times(1)).onStatusChanged(userId, userId, Status.REJECTED, Status.APPROVED);
+    }
+
+    @Test
+    @DisplayName("Подтверждение отклонённого бронирования, период занят подтверждённым")
+    void approve_WhenRejectedBookingOverlapsApproved_ShouldThrowValidationException() {
+        itemOwner.setId(userId);
+        booking.setStatus(Status.REJECTED);
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(itemId, bookingId,
+                Status.APPROVED, booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.approve(userId, bookingId, true));
+
+        assertThat(e.getMessage(), is("Вещь не доступна для бронирования."));
+        assertThat(booking.getStatus(), is(Status.REJECTED));
+        verify(bookingRepository, never()).findWaitingOverlapping(any());
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Отмена бронирования")
     void approve_UserAndBookingFoundAndApprovedFalse_ShouldReturnBookingDto() {
         itemOwner.setId(userId);
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
         when(bookingRepository.save(booking))
@@ -298,8 +358,9 @@ class BookingServiceImplTest {
 
         bookingService.approve(userId, bookingId, false);
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, times(1)).findById(bookingId);
+        verify(summaryCache, times(1)).onStatusChanged(booking);
         verify(bookingMapper, times(1)).toBookingDtoResponse(bookingArgumentCaptor.capture());
         Booking captorValue = bookingArgumentCaptor.getValue();
 
@@ -311,8 +372,8 @@ class BookingServiceImplTest {
     void approve_UserAndBookingFoundBookingStatusNotWaiting_ShouldThrowItemUnavailableException() {
         itemOwner.setId(userId);
         booking.setStatus(Status.APPROVED);
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
@@ -321,7 +382,7 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Статус бронирования уже 'APPROVED'"));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, times(1)).findById(bookingId);
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -330,15 +391,15 @@ class BookingServiceImplTest {
     @DisplayName("Подтверждение бронирования, пользователь не найден")
     void approve_UserNotFound_ShouldThrowNotFoundException() {
         itemOwner.setId(userId);
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> bookingService.approve(userId, bookingId, false));
 
         assertThat(e.getMessage(), is("Пользователь с ID " + userId + " не найден."));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, never()).findById(any());
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -347,8 +408,8 @@ class BookingServiceImplTest {
     @DisplayName("Подтверждение бронирования, бронирование не найдено")
     void approve_BookingNotFound_ShouldThrowNotFoundException() {
         itemOwner.setId(userId);
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.empty());
 
@@ -357,22 +418,145 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Бронь с ID " + bookingId + " не найдена."));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, times(1)).findById(bookingId);
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
 
+    @Test
+    @DisplayName("Пакетное подтверждение: пересечения внутри пакета пропускаются, ожидающие пересечения отклоняются")
+    void approveAll_Approve_ShouldRejectOverlappingWaitingBeforeApproving() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingStatusRow rejected = new BookingStatusRow(10L, itemId, 20L, start, start.plusDays(2), Status.REJECTED);
+        BookingStatusRow overlapping = new BookingStatusRow(11L, itemId, 21L, start.plusDays(1), start.plusDays(3), Status.WAITING);
+        BookingStatusRow other = new BookingStatusRow(12L, 7L, 22L, start, start.plusDays(1), Status.WAITING);
+        List<Long> ids = List.of(10L, 11L, 12L, 99L);
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findStatusRowsByIdInAndOwnerIdAndStatusNot(ids, userId, Status.APPROVED))
+                .thenReturn(List.of(rejected, overlapping, other));
+        when(bookingRepository.findWaitingOverlapping(List.of(10L, 12L)))
+                .thenReturn(List.of(overlapping));
+        when(bookingRepository.findResponsesByIdIn(List.of(10L, 12L)))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        BookingBatchResult result = bookingService.approveAll(userId, ids, true);
+
+        assertThat(result.getBookings(), is(List.of(bookingDtoResponse)));
+        assertThat(result.getSkippedIds(), is(List.of(11L, 99L)));
+        assertThat(result.getAutoRejectedIds(), is(List.of(11L)));
+        InOrder inOrder = inOrder(bookingRepository);
+        inOrder.verify(bookingRepository).rejectWaiting(List.of(11L));
+        inOrder.verify(bookingRepository).updateStatusOfOwnerBookings(List.of(10L, 12L), userId, Status.APPROVED);
+        verify(summaryCache, times(2)).invalidate(itemId);
+        verify(summaryCache, never()).invalidate(7L);
+        verify(statsCache, times(1)).onStatusChanged(21L, userId, Status.WAITING, Status.REJECTED);
+        verify(statsCache, times(1)).onStatusChanged(20L, userId, Status.REJECTED, Status.APPROVED);
+        verify(statsCache, times(1)).onStatusChanged(22L, userId, Status.WAITING, Status.APPROVED);
+        verify(bookingRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Пакетное подтверждение пропускает отклонённые, чей период занят подтверждённым")
+    void approveAll_WhenRejectedOverlapsApproved_ShouldSkipIt() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingStatusRow rejected = new BookingStatusRow(10L, itemId, 20L, start, start.plusDays(2), Status.REJECTED);
+        BookingStatusRow waiting = new BookingStatusRow(11L, itemId, 21L, start.plusDays(1), start.plusDays(3), Status.WAITING);
+        List<Long> ids = List.of(10L, 11L);
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findStatusRowsByIdInAndOwnerIdAndStatusNot(ids, userId, Status.APPROVED))
+                .thenReturn(List.of(rejected, waiting));
+        when(bookingRepository.existsByItemIdAndIdNotAndStatusAndStartIsBeforeAndEndIsAfter(itemId, 10L,
+                Status.APPROVED, rejected.getEnd(), rejected.getStart()))
+                .thenReturn(true);
+        when(bookingRepository.findWaitingOverlapping(List.of(11L)))
+                .thenReturn(List.of());
+        when(bookingRepository.findResponsesByIdIn(List.of(11L)))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        BookingBatchResult result = bookingService.approveAll(userId, ids, true);
+
+        assertThat(result.getSkippedIds(), is(List.of(10L)));
+        assertThat(result.getAutoRejectedIds(), is(List.of()));
+        verify(bookingRepository, times(1)).updateStatusOfOwnerBookings(List.of(11L), userId, Status.APPROVED);
+        verify(statsCache, never()).onStatusChanged(20L, userId, Status.REJECTED, Status.APPROVED);
+    }
+
+    @Test
+    @DisplayName("Пакетное отклонение бронирований")
+    void approveAll_Reject_ShouldUpdateWithoutLookingForOverlaps() {
+        BookingStatusRow waiting = new BookingStatusRow(bookingId, itemId, booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd(), Status.WAITING);
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findStatusRowsByIdInAndOwnerIdAndStatusNot(List.of(bookingId), userId, Status.APPROVED))
+                .thenReturn(List.of(waiting));
+        when(bookingRepository.findResponsesByIdIn(List.of(bookingId)))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        BookingBatchResult result = bookingService.approveAll(userId, List.of(bookingId), false);
+
+        assertThat(result.getBookings(), is(List.of(bookingDtoResponse)));
+        assertThat(result.getSkippedIds(), is(List.of()));
+        assertThat(result.getAutoRejectedIds(), is(List.of()));
+        verify(bookingRepository, times(1)).updateStatusOfOwnerBookings(List.of(bookingId), userId, Status.REJECTED);
+        verify(bookingRepository, never()).findWaitingOverlapping(any());
+        verify(bookingRepository, never()).rejectWaiting(any());
+        verify(summaryCache, times(1)).invalidate(itemId);
+    }
+
+    @Test
+    @DisplayName("Пакетное подтверждение чужих бронирований ничего не меняет")
+    void approveAll_NotOwner_ShouldSkipAll() {
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findStatusRowsByIdInAndOwnerIdAndStatusNot(List.of(bookingId), userId, Status.APPROVED))
+                .thenReturn(List.of());
+
+        BookingBatchResult result = bookingService.approveAll(userId, List.of(bookingId), true);
+
+        assertThat(result.getBookings(), is(List.of()));
+        assertThat(result.getSkippedIds(), is(List.of(bookingId)));
+        verify(bookingRepository, never()).updateStatusOfOwnerBookings(any(), any(), any());
+        verify(bookingRepository, never()).findResponsesByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Счётчики бронирований по состояниям берутся из кэша")
+    void getStats_ShouldReturnCountsFromCache() {
+        Map<State, Long> counts = Map.of(State.ALL, 1L, State.CURRENT, 0L, State.PAST, 0L, State.FUTURE, 1L,
+                State.WAITING, 1L, State.REJECTED, 0L);
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(statsCache.get(eq(BookingRole.OWNER), eq(userId), any()))
+                .thenReturn(new BookingStateCounts(counts, null));
+
+        assertThat(bookingService.getStats(userId, BookingRole.OWNER), is(counts));
+        verify(bookingRepository, never()).countByState(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Счётчики бронирований неизвестного пользователя")
+    void getStats_WhenUserNotFound_ShouldThrowNotFoundException() {
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getStats(userId, BookingRole.BOOKER));
+        verify(statsCache, never()).get(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Получение бронирования по id, запрос от бронирующего")
     void get_RequesterIsBooker() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         bookingService.get(userId, bookingId);
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, times(1)).findById(bookingId);
         verify(bookingMapper, times(1)).toBookingDtoResponse(booking);
     }
@@ -381,8 +565,8 @@ class BookingServiceImplTest {
     @DisplayName("Получение бронирования по id, неавторизованный запрос")
     void get_UnauthorizedRequest_ShouldThrowNotAuthorizedException() {
         long unknownUserId = 99L;
-        when(userRepository.findById(unknownUserId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(unknownUserId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
 
@@ -390,7 +574,7 @@ class BookingServiceImplTest {
                 () -> bookingService.get(unknownUserId, bookingId));
         assertThat(e.getMessage(), is("Доступ к бронированию имеет только владелец или автор бронирования!"));
 
-        verify(userRepository, times(1)).findById(unknownUserId);
+        verify(userExistenceService, times(1)).exists(unknownUserId);
         verify(bookingRepository, times(1)).findById(bookingId);
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -398,14 +582,14 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Получение бронирования по id, пользователь не найден")
     void get_UserNotFound_ShouldThrowNotFoundException() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> bookingService.get(userId, bookingId));
         assertThat(e.getMessage(), is("Пользователь с ID " + userId + " не найден."));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, never()).findById(any());
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -413,15 +597,15 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Получение бронирования по id, бронирование не найдено")
     void get_BookingNotFound_ShouldThrowNotFoundException() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> bookingService.get(userId, bookingId));
         assertThat(e.getMessage(), is("Бронь с ID " + bookingId + " не найдена."));
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(bookingRepository, times(1)).findById(bookingId);
         verify(bookingMapper, never()).toBookingDtoResponse(any());
     }
@@ -432,21 +616,21 @@ class BookingServiceImplTest {
         State state = ALL;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(eq(userId), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByOwner(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdOrderByStartDesc(eq(userId),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -455,21 +639,21 @@ class BookingServiceImplTest {
         State state = CURRENT;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(eq(userId), any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByOwner(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(eq(userId), any(), any(),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -478,21 +662,21 @@ class BookingServiceImplTest {
         State state = PAST;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByOwner(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndEndIsBeforeOrderByStartDesc(eq(userId), any(),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -501,21 +685,21 @@ class BookingServiceImplTest {
         State state = FUTURE;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByOwner(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStartIsAfterOrderByStartDesc(eq(userId), any(),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -524,21 +708,21 @@ class BookingServiceImplTest {
         State state = WAITING;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByItemOwnerIdAndStatusIsOrderByStartDesc(eq(userId), eq(Status.WAITING), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByOwner(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStatusIsOrderByStartDesc(eq(userId),
-                eq(Status.WAITING), offsetPageRequestArgumentCaptor.capture());
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(),
+                offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -547,21 +731,21 @@ class BookingServiceImplTest {
         State state = REJECTED;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByItemOwnerIdAndStatusIsOrderByStartDesc(eq(userId), eq(Status.REJECTED), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByOwner(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStatusIsOrderByStartDesc(eq(userId),
-                eq(Status.REJECTED), offsetPageRequestArgumentCaptor.capture());
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(),
+                offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -570,21 +754,21 @@ class BookingServiceImplTest {
         State state = ALL;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(eq(userId), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByBooker(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByBookerIdOrderByStartDesc(eq(userId),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -593,21 +777,21 @@ class BookingServiceImplTest {
         State state = CURRENT;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(eq(userId), any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByBooker(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(eq(userId), any(), any(),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -616,21 +800,21 @@ class BookingServiceImplTest {
         State state = PAST;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByBooker(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByBookerIdAndEndIsBeforeOrderByStartDesc(eq(userId), any(),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -639,21 +823,21 @@ class BookingServiceImplTest {
         State state = FUTURE;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByBooker(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStartIsAfterOrderByStartDesc(eq(userId), any(),
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -662,21 +846,21 @@ class BookingServiceImplTest {
         State state = WAITING;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDesc(eq(userId), eq(Status.WAITING), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByBooker(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStatusIsOrderByStartDesc(eq(userId),
-                eq(Status.WAITING), offsetPageRequestArgumentCaptor.capture());
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(),
+                offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 
     @Test
@@ -685,20 +869,20 @@ class BookingServiceImplTest {
         State state = REJECTED;
         Long from = 1L;
         Integer size = 2;
-        when(userRepository.findById(eq(userId)))
-                .thenReturn(Optional.of(new User()));
-        when(bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDesc(eq(userId), eq(Status.REJECTED), any()))
-                .thenReturn(List.of(booking));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(bookingRepository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), any()))
+                .thenReturn(List.of(bookingDtoResponse));
 
-        bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = bookingService.getAllByBooker(userId, state, from, size);
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStatusIsOrderByStartDesc(eq(userId),
-                eq(Status.REJECTED), offsetPageRequestArgumentCaptor.capture());
+        assertThat(bookings, is(List.of(bookingDtoResponse)));
+        verify(userExistenceService, times(1)).exists(userId);
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(),
+                offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-
-        verify(bookingMapper, times(1)).toBookingDtoResponseList(List.of(booking));
+        verify(bookingMapper, never()).toBookingDtoResponseList(any());
     }
 }
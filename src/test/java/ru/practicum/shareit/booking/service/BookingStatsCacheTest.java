@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingStateCounts;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStatsCacheTest {
+
+    @Mock
+    private JpaBookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingStatsCache statsCache;
+
+    private final long bookerId = 1L;
+
+    private final long ownerId = 2L;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsCache, "enabled", true);
+        ReflectionTestUtils.setField(statsCache, "maxSize", 2);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    @DisplayName("Повторное чтение счётчиков не обращается к БД")
+    void get_WhenCached_ShouldQueryDatabaseOnce() {
+        BookingStateCounts counts = counts(3, 1, 1, 1, 2, 0, now.plusDays(1));
+        when(bookingRepository.countByState(BookingRole.BOOKER, bookerId, now))
+                .thenReturn(counts);
+
+        statsCache.get(BookingRole.BOOKER, bookerId, now);
+        BookingStateCounts cached = statsCache.get(BookingRole.BOOKER, bookerId, now);
+
+        assertThat(cached, is(counts));
+        verify(bookingRepository, times(1)).countByState(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Счётчики пересчитываются, когда ближайшее бронирование начинается")
+    void get_WhenNextBookingStarted_ShouldReloadCounts() {
+        when(bookingRepository.countByState(eq(BookingRole.BOOKER), eq(bookerId), any()))
+                .thenReturn(counts(1, 0, 0, 1, 1, 0, now.plusHours(1)));
+
+        statsCache.get(BookingRole.BOOKER, bookerId, now);
+        statsCache.get(BookingRole.BOOKER, bookerId, now.plusHours(2));
+
+        verify(bookingRepository, times(2)).countByState(eq(BookingRole.BOOKER), eq(bookerId), any());
+    }
+
+    @Test
+    @DisplayName("Новое бронирование увеличивает счётчики арендатора и владельца")
+    void onAdded_ShouldIncrementBookerAndOwnerCounts() {
+        when(bookingRepository.countByState(BookingRole.BOOKER, bookerId, now))
+                .thenReturn(counts(1, 0, 1, 0, 0, 0, null));
+        when(bookingRepository.countByState(BookingRole.OWNER, ownerId, now))
+                .thenReturn(counts(0, 0, 0, 0, 0, 0, null));
+        statsCache.get(BookingRole.BOOKER, bookerId, now);
+        statsCache.get(BookingRole.OWNER, ownerId, now);
+        Booking booking = Booking.builder()
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .booker(User.builder().id(bookerId).build())
+                .ownerId(ownerId)
+                .status(Status.WAITING)
+                .build();
+
+        statsCache.onAdded(booking);
+
+        BookingStateCounts booker = statsCache.get(BookingRole.BOOKER, bookerId, now);
+        BookingStateCounts owner = statsCache.get(BookingRole.OWNER, ownerId, now);
+        assertThat(booker.getCounts(), is(counts(2, 0, 1, 1, 1, 0, null).getCounts()));
+        assertThat(owner.getCounts(), is(counts(1, 0, 0, 1, 1, 0, null).getCounts()));
+        assertThat(owner.getChangesAt(), is(booking.getStart()));
+        verify(bookingRepository, times(2)).countByState(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Отклонение переносит бронирование из ожидающих в отклонённые")
+    void onStatusChanged_ShouldMoveBetweenWaitingAndRejected() {
+        when(bookingRepository.countByState(BookingRole.OWNER, ownerId, now))
+                .thenReturn(counts(2, 0, 0, 2, 2, 0, now.plusDays(1)));
+        statsCache.get(BookingRole.OWNER, ownerId, now);
+
+        statsCache.onStatusChanged(bookerId, ownerId, Status.WAITING, Status.REJECTED);
+
+        assertThat(statsCache.get(BookingRole.OWNER, ownerId, now).getCounts(),
+                is(counts(2, 0, 0, 2, 1, 1, null).getCounts()));
+    }
+
+    @Test
+    @DisplayName("Удаление пользователя сбрасывает все счётчики")
+    void invalidateAll_ShouldReloadCountsOnNextRead() {
+        when(bookingRepository.countByState(BookingRole.OWNER, ownerId, now))
+                .thenReturn(counts(2, 0, 2, 0, 0, 0, null))
+                .thenReturn(counts(1, 0, 1, 0, 0, 0, null));
+        statsCache.get(BookingRole.OWNER, ownerId, now);
+
+        statsCache.invalidateAll();
+
+        assertThat(statsCache.get(BookingRole.OWNER, ownerId, now).getCounts(),
+                is(counts(1, 0, 1, 0, 0, 0, null).getCounts()));
+        verify(bookingRepository, times(2)).countByState(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Изменения пользователей без записи в кэше ничего не хранят")
+    void onStatusChanged_WhenNotCached_ShouldNotKeepGenerations() {
+        statsCache.onStatusChanged(bookerId, ownerId, Status.WAITING, Status.REJECTED);
+
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(statsCache, "generations")).isEmpty(), is(true));
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(statsCache, "counts")).isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("Сверх предела новые счётчики не сохраняются")
+    void get_WhenCacheIsFull_ShouldNotStoreNewKeys() {
+        when(bookingRepository.countByState(any(), any(), eq(now)))
+                .thenReturn(counts(0, 0, 0, 0, 0, 0, null));
+        statsCache.get(BookingRole.BOOKER, bookerId, now);
+        statsCache.get(BookingRole.OWNER, ownerId, now);
+
+        statsCache.get(BookingRole.BOOKER, 3L, now);
+        statsCache.get(BookingRole.BOOKER, 3L, now);
+        statsCache.get(BookingRole.BOOKER, bookerId, now);
+
+        verify(bookingRepository, times(2)).countByState(BookingRole.BOOKER, 3L, now);
+        verify(bookingRepository, times(1)).countByState(BookingRole.BOOKER, bookerId, now);
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(statsCache, "generations")).isEmpty(), is(true));
+    }
+
+    private BookingStateCounts counts(long all, long current, long past, long future, long waiting, long rejected,
+                                      LocalDateTime changesAt) {
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        counts.put(State.ALL, all);
+        counts.put(State.CURRENT, current);
+        counts.put(State.PAST, past);
+        counts.put(State.FUTURE, future);
+        counts.put(State.WAITING, waiting);
+        counts.put(State.REJECTED, rejected);
+        return new BookingStateCounts(counts, changesAt);
+    }
+}
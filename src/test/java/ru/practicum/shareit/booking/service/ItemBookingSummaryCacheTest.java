@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSlot;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingSummaryCacheTest {
+
+    @Mock
+    private JpaBookingRepository bookingRepository;
+
+    @InjectMocks
+    private ItemBookingSummaryCache summaryCache;
+
+    private final long itemId = 1L;
+
+    private LocalDateTime now;
+
+    private Item item;
+
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(summaryCache, "enabled", true);
+        ReflectionTestUtils.setField(summaryCache, "maxSize", 1);
+        now = LocalDateTime.now();
+        item = Item.builder()
+                .id(itemId)
+                .build();
+        booker = User.builder()
+                .id(2L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Повторное чтение сводки не обращается к БД")
+    void getSummaries_WhenCached_ShouldQueryDatabaseOnce() {
+        ItemBookingSlot last = slot(1L, -3, -1);
+        ItemBookingSlot next = slot(2L, 2, 3);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), eq(Status.REJECTED), any()))
+                .thenReturn(List.of(last, next));
+
+        summaryCache.getSummaries(List.of(itemId), now);
+        ItemBookingSummary summary = summaryCache.getSummaries(List.of(itemId), now).get(itemId);
+
+        assertThat(summary, is(new ItemBookingSummary(last, next)));
+        verify(bookingRepository, times(1)).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Новое бронирование становится следующим, если начинается раньше")
+    void onAdded_WhenStartsBeforeNext_ShouldReplaceNext() {
+        ItemBookingSlot next = slot(2L, 5, 6);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), eq(Status.REJECTED), any()))
+                .thenReturn(List.of(next));
+        summaryCache.getSummaries(List.of(itemId), now);
+
+        Booking booking = booking(3L, 1, 2);
+        summaryCache.onAdded(booking);
+        ItemBookingSummary summary = summaryCache.getSummaries(List.of(itemId), now).get(itemId);
+
+        assertThat(summary.getLast(), nullValue());
+        assertThat(summary.getNext().getId(), is(3L));
+        verify(bookingRepository, times(1)).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Начавшееся следующее бронирование приводит к пересчёту")
+    void getSummaries_WhenNextStarted_ShouldReload() {
+        ItemBookingSlot next = slot(2L, 1, 3);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), eq(Status.REJECTED), any()))
+                .thenReturn(List.of(next))
+                .thenReturn(List.of(next));
+
+        summaryCache.getSummaries(List.of(itemId), now);
+        ItemBookingSummary summary = summaryCache.getSummaries(List.of(itemId), now.plusDays(2)).get(itemId);
+
+        assertThat(summary.getLast(), is(next));
+        assertThat(summary.getNext(), nullValue());
+        verify(bookingRepository, times(2)).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Смена статуса сбрасывает сводку")
+    void onStatusChanged_ShouldEvictSummary() {
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), eq(Status.REJECTED), any()))
+                .thenReturn(List.of(slot(2L, 1, 3)))
+                .thenReturn(List.of());
+        summaryCache.getSummaries(List.of(itemId), now);
+
+        summaryCache.onStatusChanged(booking(2L, 1, 3));
+        ItemBookingSummary summary = summaryCache.getSummaries(List.of(itemId), now).get(itemId);
+
+        assertThat(summary, is(ItemBookingSummary.EMPTY));
+    }
+
+    @Test
+    @DisplayName("Сверх предела новые сводки не сохраняются")
+    void getSummaries_WhenCacheIsFull_ShouldNotStoreNewItems() {
+        when(bookingRepository.findLastAndNextBookings(any(), eq(Status.REJECTED), eq(now)))
+                .thenReturn(List.of());
+        summaryCache.getSummaries(List.of(itemId), now);
+
+        summaryCache.getSummaries(List.of(7L), now);
+        summaryCache.getSummaries(List.of(7L), now);
+        summaryCache.getSummaries(List.of(itemId), now);
+
+        verify(bookingRepository, times(2)).findLastAndNextBookings(List.of(7L), Status.REJECTED, now);
+        verify(bookingRepository, times(1)).findLastAndNextBookings(List.of(itemId), Status.REJECTED, now);
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(summaryCache, "generations")).isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("Отключённый кэш каждый раз читает сводку из БД")
+    void getSummaries_WhenDisabled_ShouldQueryDatabaseEveryTime() {
+        ReflectionTestUtils.setField(summaryCache, "enabled", false);
+        when(bookingRepository.findLastAndNextBookings(List.of(itemId), Status.REJECTED, now))
+                .thenReturn(List.of());
+
+        summaryCache.getSummaries(List.of(itemId), now);
+        summaryCache.getSummaries(List.of(itemId), now);
+
+        verify(bookingRepository, times(2)).findLastAndNextBookings(List.of(itemId), Status.REJECTED, now);
+    }
+
+    private ItemBookingSlot slot(long id, int startDay, int endDay) {
+        return new ItemBookingSlot(itemId, id, booker.getId(), now.plusDays(startDay), now.plusDays(endDay));
+    }
+
+    private Booking booking(long id, int startDay, int endDay) {
+        return Booking.builder()
+                .id(id)
+                .start(now.plusDays(startDay))
+                .end(now.plusDays(endDay))
+                .item(item)
+                .booker(booker)
+                .status(Status.WAITING)
+                .build();
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import ru.practicum.shareit.item.controller.dto.CommentDto;
+import ru.practicum.shareit.item.controller.dto.ItemBatchResult;
 import ru.practicum.shareit.item.controller.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.controller.dto.ItemDto;
@@ -121,6 +122,28 @@ class ItemControllerTest {
         verify(itemService, times(1)).addNewItem(userId, itemDtoRequest);
     }
 
+    @Test
+    @DisplayName("Пакетное добавление вещей")
+    @SneakyThrows
+    void addBatch_ShouldReturnResultPerItem() {
+        List<ItemDtoRequest> requests = List.of(itemDtoRequest, itemDtoRequest);
+        when(itemService.addNewItems(userId, requests))
+                .thenReturn(List.of(ItemBatchResult.created(0, itemDto), ItemBatchResult.failed(1, "Запрос с ID9 не найден")));
+
+        mvc.perform(post("/items/batch")
+                        .header(header, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(requests))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].item.name", is(itemDto.getName())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is("Запрос с ID9 не найден")));
+
+        verify(itemService, times(1)).addNewItems(userId, requests);
+    }
+
     @Test
     @DisplayName("Добавление вещи, запрос без заголовка")
     @SneakyThrows
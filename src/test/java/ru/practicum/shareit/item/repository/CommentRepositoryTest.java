@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.repository;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -160,6 +161,16 @@ class CommentRepositoryTest {
         assertThat(comments.size(), is(0));
     }
 
+    @Test
+    @DisplayName("Авторы комментариев загружаются тем же запросом")
+    void findByItemIdIn_ShouldFetchAuthors() {
+        List<Comment> comments = commentRepository.findByItemIdIn(List.of(savedItem1.getId(), savedItem2.getId()));
+
+        assertThat(comments.size(), is(3));
+        comments.forEach(comment -> assertThat(Hibernate.isInitialized(comment.getAuthor()), is(true)));
+        assertThat(comments.get(0).getAuthor().getName(), is(savedUser2.getName()));
+    }
+
     private Item createItem(int id) {
         return Item.builder()
                 .name("item name " + id)
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
@@ -116,7 +117,7 @@ class JpaItemRepositoryTest {
         String text = "%name%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(2));
@@ -130,7 +131,7 @@ class JpaItemRepositoryTest {
         String text = "%name%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(1L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -143,7 +144,7 @@ class JpaItemRepositoryTest {
         String text = "%name%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -156,7 +157,7 @@ class JpaItemRepositoryTest {
         String text = "%name 3%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -169,7 +170,7 @@ class JpaItemRepositoryTest {
         String text = "%description%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(2));
@@ -183,13 +184,33 @@ class JpaItemRepositoryTest {
         String text = "%description 3%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
         assertThat(items.get(0).getId(), is(savedItem3.getId()));
     }
 
+    @Test
+    @DisplayName("Поиск вещей, совпадения в названии выше совпадений в описании")
+    void searchInTitleAndDescription_WhenTextInNameOfLaterItem_ShouldRankItFirst() {
+        Item item4 = Item.builder()
+                .name("description holder")
+                .description("no match")
+                .available(true)
+                .owner(savedUser2)
+                .build();
+        Item savedItem4 = itemStorage.save(item4);
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
+
+        List<ItemDtoResponse> items = itemStorage.searchInTitleAndDescription("%description%", pageRequest);
+
+        assertThat(items.size(), is(3));
+        assertThat(items.get(0).getId(), is(savedItem4.getId()));
+        assertThat(items.get(1).getId(), is(savedItem1.getId()));
+        assertThat(items.get(2).getId(), is(savedItem3.getId()));
+    }
+
     private Item createItem(int id) {
         return Item.builder()
                 .name("item name " + id)
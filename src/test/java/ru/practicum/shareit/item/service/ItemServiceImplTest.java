@@ -8,15 +8,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSlot;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryCache;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.controller.dto.CommentDto;
+import ru.practicum.shareit.item.controller.dto.ItemBatchResult;
 import ru.practicum.shareit.item.controller.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.controller.dto.ItemDto;
@@ -31,13 +36,20 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.JpaItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
@@ -69,6 +81,12 @@ class ItemServiceImplTest {
     @Mock
     private JpaItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemBookingSummaryCache summaryCache;
+
     @Mock
     private ItemMapper itemMapper;
 
@@ -78,6 +96,12 @@ class ItemServiceImplTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private UserExistenceService userExistenceService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -234,6 +258,52 @@ class ItemServiceImplTest {
         verify(itemMapper, times(1)).toItemWithRequest(item);
     }
 
+    @Test
+    @DisplayName("Пакетное добавление вещей с результатом по каждой")
+    void addNewItems_ShouldSaveValidItemsInOneBatchAndReportFailures() {
+        ItemRequest itemRequest = ItemRequest.builder()
+                .id(requestId)
+                .description("description")
+                .build();
+        ItemDtoRequest blankName = ItemDtoRequest.builder()
+                .name("")
+                .description("description")
+                .available(true)
+                .build();
+        ItemDtoRequest unknownRequest = ItemDtoRequest.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .requestId(99L)
+                .build();
+        when(userRepository.findById(ownerId))
+                .thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(Set.of(requestId, 99L)))
+                .thenReturn(List.of(itemRequest));
+        when(itemMapper.toItem(itemDtoRequest))
+                .thenReturn(item);
+        when(itemRepository.saveAll(List.of(item)))
+                .thenReturn(List.of(item));
+        when(itemMapper.toItemWithRequest(item))
+                .thenReturn(itemDto);
+
+        List<ItemBatchResult> results = itemService.addNewItems(ownerId, List.of(blankName, itemDtoRequest, unknownRequest));
+
+        assertThat(results.size(), is(3));
+        assertThat(results.get(0).getItem(), nullValue());
+        assertThat(results.get(0).getError(), containsString("name"));
+        assertThat(results.get(1).getIndex(), is(1));
+        assertThat(results.get(1).getItem(), is(itemDto));
+        assertThat(results.get(1).getError(), nullValue());
+        assertThat(results.get(2).getError(), is("Запрос с ID99 не найден"));
+        assertThat(item.getOwner(), is(owner));
+        assertThat(item.getRequest(), is(itemRequest));
+        assertThat(itemRequest.getItems(), contains(item));
+        verify(itemRequestRepository, never()).findById(any());
+        verify(itemRepository, never()).save(any());
+        verify(searchEngine, times(1)).onSaved(null, item);
+    }
+
     @Test
     @DisplayName("Добавление вещи, пользователь не найден")
     void addItem_UserNotFound_ShouldThrowNotFoundException() {
@@ -284,8 +354,8 @@ class ItemServiceImplTest {
         item.setAvailable(false);
 
         item.setOwner(owner);
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -295,7 +365,7 @@ class ItemServiceImplTest {
 
         itemService.update(ownerId, itemId, itemDtoRequest);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemRepository, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -315,8 +385,8 @@ class ItemServiceImplTest {
                 .build();
         item.setDescription("new description");
         item.setAvailable(false);
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -326,7 +396,7 @@ class ItemServiceImplTest {
 
         itemService.update(ownerId, itemId, itemDtoRequest);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemRepository, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -346,8 +416,8 @@ class ItemServiceImplTest {
                 .build();
         item.setName("new name");
         item.setAvailable(false);
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -357,7 +427,7 @@ class ItemServiceImplTest {
 
         itemService.update(ownerId, itemId, itemDtoRequest);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemRepository, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -377,8 +447,8 @@ class ItemServiceImplTest {
                 .build();
         item.setName("new name");
         item.setDescription("new description");
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -388,7 +458,7 @@ class ItemServiceImplTest {
 
         itemService.update(ownerId, itemId, itemDtoRequest);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemRepository, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -406,8 +476,8 @@ class ItemServiceImplTest {
                 .description("new description")
                 .available(null)
                 .build();
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
 
@@ -415,7 +485,7 @@ class ItemServiceImplTest {
                 () -> itemService.update(requesterId, itemId, itemDtoRequest));
         assertThat(e.getMessage(), is("Пользователь не является владельцем вещи"));
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemRepository, never()).save(any());
         verify(itemMapper, never()).toItem(any());
@@ -430,14 +500,14 @@ class ItemServiceImplTest {
                 .available(null)
                 .build();
         item.setOwner(owner);
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.update(requesterId, itemId, itemDtoRequest));
         assertThat(e.getMessage(), is("Пользователь с ID" + requesterId + " не найден"));
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, never()).findById(any());
         verify(itemRepository, never()).save(any());
         verify(itemMapper, never()).toItem(any());
@@ -452,8 +522,8 @@ class ItemServiceImplTest {
                 .available(null)
                 .build();
         item.setOwner(owner);
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.empty());
 
@@ -461,7 +531,7 @@ class ItemServiceImplTest {
                 () -> itemService.update(requesterId, itemId, itemDtoRequest));
         assertThat(e.getMessage(), is("Вещь с ID" + itemId + " не найдена"));
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemRepository, never()).save(any());
         verify(itemMapper, never()).toItem(any());
@@ -470,44 +540,43 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Поиск вещи по id, запрос от владельца")
     void findItemById_WhenRequesterIsOwner_ShouldReturnItemWithBookingDates() {
-        booking1.setStatus(Status.APPROVED);
-        booking2.setStatus(Status.APPROVED);
-        booking3.setStatus(Status.APPROVED);
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        ItemBookingSlot lastSlot = createSlot(booking1);
+        ItemBookingSlot nextSlot = createSlot(booking3);
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED))
-                .thenReturn(List.of(booking1, booking2, booking3));
+        when(summaryCache.getSummaries(eq(List.of(itemId)), any()))
+                .thenReturn(Map.of(itemId, new ItemBookingSummary(lastSlot, nextSlot)));
         Comment comment = new Comment();
         when(commentRepository.findByItemIdIn(List.of(itemId)))
                 .thenReturn(List.of(comment));
-        BookingDtoForItem bookingDtoForItem = new BookingDtoForItem();
-        when(bookingMapper.toBookingDtoForItem(any()))
-                .thenReturn(bookingDtoForItem);
+        BookingDtoForItem lastBookingDto = BookingDtoForItem.builder().id(1L).build();
+        BookingDtoForItem nextBookingDto = BookingDtoForItem.builder().id(3L).build();
+        when(bookingMapper.slotToBookingDtoForItem(lastSlot))
+                .thenReturn(lastBookingDto);
+        when(bookingMapper.slotToBookingDtoForItem(nextSlot))
+                .thenReturn(nextBookingDto);
         when(itemMapper.toResponse(eq(item)))
                 .thenReturn(new ItemDtoResponse(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null, null, null));
 
-        itemService.getItemById(ownerId, itemId);
+        ItemDtoResponse response = itemService.getItemById(ownerId, itemId);
 
-        verify(userRepository, times(1)).findById(ownerId);
+        assertThat(response.getLastBooking(), is(lastBookingDto));
+        assertThat(response.getNextBooking(), is(nextBookingDto));
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, times(1)).findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED);
+        verify(summaryCache, times(1)).getSummaries(eq(List.of(itemId)), any());
         verify(commentRepository, times(1)).findByItemIdIn(List.of(itemId));
         verify(itemMapper, times(1)).toResponse(eq(item));
-        verify(bookingMapper, times(2)).toBookingDtoForItem(bookingArgumentCaptor.capture());
-        List<Booking> bookings = bookingArgumentCaptor.getAllValues();
-        assertThat(bookings.size(), is(2));
-        assertThat(bookings.get(0), is(booking1));
-        assertThat(bookings.get(1), is(booking3));
         verify(commentMapper, times(1)).toCommentDtoList(List.of(comment));
     }
 
     @Test
     @DisplayName("Поиск вещи по id, запрос не от владельца")
     void findItemById_WhenRequesterIsNotOwner_ShouldReturnItemWithoutBookingDates() {
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         Comment comment = new Comment();
@@ -517,7 +586,7 @@ class ItemServiceImplTest {
         when(itemMapper.toResponse(item))
                 .thenReturn(getItemDto);
         itemService.getItemById(requesterId, itemId);
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemMapper, times(1)).toResponse(item);
         verify(commentRepository, times(1)).findByItemIdIn(List.of(itemId));
@@ -527,15 +596,15 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Поиск вещи по id, пользователь не найден")
     void findItemById_WhenUserNotFound_ShouldThrowNotFoundException() {
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(false);
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.getItemById(requesterId, itemId));
         assertThat(e.getMessage(), is("Пользователь с ID" + requesterId + " не найден"));
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, never()).findById(any());
-        verify(bookingRepository, never()).findByItemIdInAndStatusNot(any(), any());
+        verify(summaryCache, never()).getSummaries(any(), any());
         verify(itemMapper, never()).toResponse(any());
         verify(commentRepository, never()).findByItemIdIn(any());
     }
@@ -543,17 +612,17 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Поиск вещи по id, вещь не найдена")
     void findItemById_WhenItemNotFound_ShouldThrowNotFoundException() {
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.empty());
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.getItemById(requesterId, itemId));
         assertThat(e.getMessage(), is("Вещь с ID" + itemId + " не найдена"));
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findById(itemId);
-        verify(bookingRepository, never()).findByItemIdInAndStatusNot(any(), any());
+        verify(summaryCache, never()).getSummaries(any(), any());
         verify(itemMapper, never()).toResponse(any());
         verify(commentRepository, never()).findByItemIdIn(any());
     }
@@ -563,15 +632,14 @@ class ItemServiceImplTest {
     void findAllItemsByUserId_ShouldReturnItemsWithBookingAndComments() {
         long from = 0;
         int size = 4;
-        booking1.setStatus(Status.APPROVED);
-        booking2.setStatus(Status.APPROVED);
-        booking3.setStatus(Status.APPROVED);
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        ItemBookingSlot lastSlot = createSlot(booking1);
+        ItemBookingSlot nextSlot = createSlot(booking3);
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findAllByOwnerIdOrderById(eq(requesterId), any()))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED))
-                .thenReturn(List.of(booking1, booking2, booking3));
+        when(summaryCache.getSummaries(eq(List.of(itemId)), any()))
+                .thenReturn(Map.of(itemId, new ItemBookingSummary(lastSlot, nextSlot)));
         LocalDateTime now = LocalDateTime.now();
         Comment comment = Comment.builder()
                 .item(item)
@@ -582,21 +650,16 @@ class ItemServiceImplTest {
                 .text("dto comment")
                 .authorName("author name")
                 .build();
-        BookingDtoForItem bookingDtoForItem = new BookingDtoForItem();
-        ItemDtoResponse itemDtoResponse = ItemDtoResponse.builder()
-                .name("itemDtoRequest")
-                .description("itemDtoRequest description")
-                .available(true)
-                .lastBooking(bookingDtoForItem)
-                .nextBooking(bookingDtoForItem)
-                .build();
         when(commentMapper.toCommentDtoList(List.of(comment)))
                 .thenReturn(List.of(commentDto));
         when(commentRepository.findByItemIdIn(List.of(itemId)))
                 .thenReturn(List.of(comment));
-
-        when(bookingMapper.toBookingDtoForItem(any()))
-                .thenReturn(bookingDtoForItem);
+        BookingDtoForItem lastBookingDto = BookingDtoForItem.builder().id(1L).build();
+        BookingDtoForItem nextBookingDto = BookingDtoForItem.builder().id(3L).build();
+        when(bookingMapper.slotToBookingDtoForItem(lastSlot))
+                .thenReturn(lastBookingDto);
+        when(bookingMapper.slotToBookingDtoForItem(nextSlot))
+                .thenReturn(nextBookingDto);
         ItemDtoResponse getItemDto = new ItemDtoResponse(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null, null, null);
         when(itemMapper.toResponse(item))
                 .thenReturn(getItemDto);
@@ -606,107 +669,66 @@ class ItemServiceImplTest {
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
         assertThat(items.get(0).getComments(), is(List.of(commentDto)));
-        verify(bookingMapper, times(2)).toBookingDtoForItem(bookingArgumentCaptor.capture());
-        List<Booking> bookings = bookingArgumentCaptor.getAllValues();
-        assertThat(bookings.size(), is(2));
-        assertThat(bookings.get(0), is(booking1));
-        assertThat(bookings.get(1), is(booking3));
-        verify(userRepository, times(1)).findById(requesterId);
+        assertThat(items.get(0).getLastBooking(), is(lastBookingDto));
+        assertThat(items.get(0).getNextBooking(), is(nextBookingDto));
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingRepository, times(1)).findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED);
+        verify(summaryCache, times(1)).getSummaries(eq(List.of(itemId)), any());
+        verify(summaryCache, never()).getSummaries(any(), any());
         verify(commentRepository, times(1)).findByItemIdIn(List.of(itemId));
         verify(commentMapper, times(1)).toCommentDtoList(List.of(comment));
     }
 
     @Test
-    @DisplayName("Поиск вещей пользователя, следующее бронирование не подтверждено")
-    void findAllItemsByUserId_WhenNextBookingsIsNotApproved_ShouldReturnItemsWithBookingAndComments() {
+    @DisplayName("Поиск вещей пользователя, следующего бронирования нет")
+    void findAllItemsByUserId_WhenOnlyLastBooking_ShouldReturnItemsWithoutNextBooking() {
         long from = 0;
         int size = 4;
-        booking1.setStatus(Status.APPROVED);
-        booking2.setStatus(Status.REJECTED);
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        ItemBookingSlot lastSlot = createSlot(booking2);
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findAllByOwnerIdOrderById(eq(requesterId), any()))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED))
-                .thenReturn(List.of(booking1, booking2, booking3));
-        LocalDateTime now = LocalDateTime.now();
-        Comment comment = Comment.builder()
-                .item(item)
-                .text("comment")
-                .created(now)
-                .build();
-        CommentDto commentDto = CommentDto.builder()
-                .text("dto comment")
-                .authorName("author name")
-                .build();
-        when(commentMapper.toCommentDtoList(List.of(comment)))
-                .thenReturn(List.of(commentDto));
+        when(summaryCache.getSummaries(eq(List.of(itemId)), any()))
+                .thenReturn(Map.of(itemId, new ItemBookingSummary(lastSlot, null)));
         when(commentRepository.findByItemIdIn(List.of(itemId)))
-                .thenReturn(List.of(comment));
-        BookingDtoForItem bookingDtoForItem = new BookingDtoForItem();
-        when(bookingMapper.toBookingDtoForItem(any()))
-                .thenReturn(bookingDtoForItem);
+                .thenReturn(Collections.emptyList());
+        BookingDtoForItem lastBookingDto = BookingDtoForItem.builder().id(2L).build();
+        when(bookingMapper.slotToBookingDtoForItem(lastSlot))
+                .thenReturn(lastBookingDto);
         ItemDtoResponse getItemDto = new ItemDtoResponse(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null, null, null);
         when(itemMapper.toResponse(item))
                 .thenReturn(getItemDto);
 
         List<ItemDtoResponse> items = itemService.getItemsByUserId(requesterId, from, size);
 
-        assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
-        assertThat(items.get(0).getComments(), is(List.of(commentDto)));
-        verify(bookingMapper, times(2)).toBookingDtoForItem(bookingArgumentCaptor.capture());
-        List<Booking> bookings = bookingArgumentCaptor.getAllValues();
-        assertThat(bookings.size(), is(2));
-        assertThat(bookings.get(0), is(booking1));
-        verify(userRepository, times(1)).findById(requesterId);
-        verify(itemRepository, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
-                offsetPageRequestArgumentCaptor.capture());
-        OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
-        assertThat(captorValue.getOffset(), is(from));
-        assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingRepository, times(1)).findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED);
-        verify(commentRepository, times(1)).findByItemIdIn(List.of(itemId));
-        verify(commentMapper, times(1)).toCommentDtoList(List.of(comment));
+        assertThat(items.get(0).getLastBooking(), is(lastBookingDto));
+        assertThat(items.get(0).getNextBooking(), nullValue());
+        verify(bookingMapper, times(1)).slotToBookingDtoForItem(any());
     }
 
     @Test
-    @DisplayName("Поиск вещей пользователя, все бронирования не подтверждены")
-    void findAllItemsByUserId_WhenBookingsAreNotApproved_ShouldReturnItemsWithNoBookingAndComments() {
+    @DisplayName("Поиск вещей пользователя, прошлого бронирования нет")
+    void findAllItemsByUserId_WhenOnlyNextBooking_ShouldReturnItemsWithoutLastBooking() {
         long from = 1;
         int size = 4;
-        booking1.setStatus(Status.WAITING);
-        booking2.setStatus(Status.WAITING);
-        booking3.setStatus(Status.WAITING);
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        ItemBookingSlot nextSlot = createSlot(booking3);
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findAllByOwnerIdOrderById(eq(requesterId), any()))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED))
-                .thenReturn(List.of(booking1, booking2, booking3));
-        LocalDateTime now = LocalDateTime.now();
-        Comment comment = Comment.builder()
-                .item(item)
-                .text("comment")
-                .created(now)
-                .build();
-        CommentDto commentDto = CommentDto.builder()
-                .text("dto comment")
-                .authorName("author name")
-                .build();
-        when(commentMapper.toCommentDtoList(List.of(comment)))
-                .thenReturn(List.of(commentDto));
+        when(summaryCache.getSummaries(eq(List.of(itemId)), any()))
+                .thenReturn(Map.of(itemId, new ItemBookingSummary(null, nextSlot)));
         when(commentRepository.findByItemIdIn(List.of(itemId)))
-                .thenReturn(List.of(comment));
-        BookingDtoForItem bookingDtoForItem = new BookingDtoForItem();
-        when(bookingMapper.toBookingDtoForItem(any()))
-                .thenReturn(bookingDtoForItem);
+                .thenReturn(Collections.emptyList());
+        BookingDtoForItem nextBookingDto = BookingDtoForItem.builder().id(3L).build();
+        when(bookingMapper.slotToBookingDtoForItem(nextSlot))
+                .thenReturn(nextBookingDto);
         ItemDtoResponse getItemDto = new ItemDtoResponse(
                 item.getId(),
                 item.getName(),
@@ -720,21 +742,10 @@ class ItemServiceImplTest {
 
         List<ItemDtoResponse> items = itemService.getItemsByUserId(requesterId, from, size);
 
-        assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
-        assertThat(items.get(0).getComments(), is(List.of(commentDto)));
-        verify(bookingMapper, times(2)).toBookingDtoForItem(bookingArgumentCaptor.capture());
-        List<Booking> bookings = bookingArgumentCaptor.getAllValues();
-        assertThat(bookings.size(), is(2));
-        verify(userRepository, times(1)).findById(requesterId);
-        verify(itemRepository, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
-                offsetPageRequestArgumentCaptor.capture());
-        OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
-        assertThat(captorValue.getOffset(), is(from));
-        assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingRepository, times(1)).findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED);
-        verify(commentRepository, times(1)).findByItemIdIn(List.of(itemId));
-        verify(commentMapper, times(1)).toCommentDtoList(List.of(comment));
+        assertThat(items.get(0).getLastBooking(), nullValue());
+        assertThat(items.get(0).getNextBooking(), is(nextBookingDto));
+        verify(bookingMapper, times(1)).slotToBookingDtoForItem(any());
     }
 
     @Test
@@ -742,12 +753,12 @@ class ItemServiceImplTest {
     void findAllItemsByUserId_WhenNoBookings_ShouldReturnItemsWithoutBookingAndComments() {
         long from = 1;
         int size = 4;
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findAllByOwnerIdOrderById(eq(requesterId), any()))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED))
-                .thenReturn(Collections.emptyList());
+        when(summaryCache.getSummaries(eq(List.of(itemId)), any()))
+                .thenReturn(Map.of(itemId, ItemBookingSummary.EMPTY));
         when(commentRepository.findByItemIdIn(List.of(itemId)))
                 .thenReturn(Collections.emptyList());
         ItemDtoResponse getItemDto = new ItemDtoResponse(
@@ -766,13 +777,15 @@ class ItemServiceImplTest {
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
         assertThat(items.get(0).getComments(), empty());
-        verify(userRepository, times(1)).findById(requesterId);
+        assertThat(items.get(0).getLastBooking(), nullValue());
+        assertThat(items.get(0).getNextBooking(), nullValue());
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingRepository, times(1)).findByItemIdInAndStatusNot(List.of(itemId), Status.REJECTED);
+        verify(summaryCache, times(1)).getSummaries(eq(List.of(itemId)), any());
         verify(commentRepository, times(1)).findByItemIdIn(List.of(itemId));
     }
 
@@ -781,15 +794,15 @@ class ItemServiceImplTest {
     void findAllItemsByUserId_WhenUserNotFound_ShouldThrowNotFoundException() {
         long from = 1;
         int size = 4;
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.getItemsByUserId(requesterId, from, size));
         assertThat(e.getMessage(), is("Пользователь с ID" + requesterId + " не найден"));
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, never()).findAllByOwnerIdOrderById(any(), any());
-        verify(bookingRepository, never()).findByItemIdInAndStatusNot(any(), any());
+        verify(summaryCache, never()).getSummaries(any(), any());
         verify(commentRepository, never()).findByItemIdIn(any());
     }
 
@@ -799,19 +812,21 @@ class ItemServiceImplTest {
         long from = 1;
         int size = 4;
         String text = "search";
-        when(itemRepository.searchInTitleAndDescription(any(), any()))
-                .thenReturn(List.of(item));
+        ItemDtoResponse found = new ItemDtoResponse(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        when(searchEngine.search(any(), any()))
+                .thenReturn(List.of(found));
 
-        itemService.findItemsByText(text, from, size);
+        List<ItemDtoResponse> items = itemService.findItemsByText(text, from, size);
 
-        verify(itemRepository, times(1)).searchInTitleAndDescription(stringArgumentCaptor.capture(),
+        verify(searchEngine, times(1)).search(stringArgumentCaptor.capture(),
                 offsetPageRequestArgumentCaptor.capture());
         String captorValue = stringArgumentCaptor.getValue();
-        assertThat(captorValue, is("%search%"));
+        assertThat(captorValue, is(text));
         OffsetPageRequest offsetPageRequest = offsetPageRequestArgumentCaptor.getValue();
         assertThat(offsetPageRequest.getOffset(), is(from));
         assertThat(offsetPageRequest.getPageSize(), is(size));
-        verify(itemMapper, times(1)).toResponse(any());
+        assertThat(items, is(List.of(found)));
+        verify(itemMapper, never()).toResponse(any());
     }
 
     @Test
@@ -820,19 +835,21 @@ class ItemServiceImplTest {
         long from = 1;
         int size = 4;
         String text = "SEArcH";
-        when(itemRepository.searchInTitleAndDescription(any(), any()))
-                .thenReturn(List.of(item));
+        ItemDtoResponse found = new ItemDtoResponse(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        when(searchEngine.search(any(), any()))
+                .thenReturn(List.of(found));
 
-        itemService.findItemsByText(text, from, size);
+        List<ItemDtoResponse> items = itemService.findItemsByText(text, from, size);
 
-        verify(itemRepository, times(1)).searchInTitleAndDescription(stringArgumentCaptor.capture(),
+        verify(searchEngine, times(1)).search(stringArgumentCaptor.capture(),
                 offsetPageRequestArgumentCaptor.capture());
         String captorValue = stringArgumentCaptor.getValue();
-        assertThat(captorValue, is("%search%"));
+        assertThat(captorValue, is(text));
         OffsetPageRequest offsetPageRequest = offsetPageRequestArgumentCaptor.getValue();
         assertThat(offsetPageRequest.getOffset(), is(from));
         assertThat(offsetPageRequest.getPageSize(), is(size));
-        verify(itemMapper, times(1)).toResponse(any());
+        assertThat(items, is(List.of(found)));
+        verify(itemMapper, never()).toResponse(any());
     }
 
     @Test
@@ -856,8 +873,8 @@ class ItemServiceImplTest {
         booking1.setStatus(Status.APPROVED);
         booking2.setStatus(Status.APPROVED);
         booking3.setStatus(Status.APPROVED);
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findFirstByItemIdAndBookerIdOrderByStart(itemId, requesterId))
@@ -869,7 +886,7 @@ class ItemServiceImplTest {
 
         itemService.addComment(requesterId, itemId, addCommentDto);
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(bookingRepository, times(1)).findFirstByItemIdAndBookerIdOrderByStart(itemId, requesterId);
         verify(commentRepository, times(1)).save(commentArgumentCaptor.capture());
@@ -888,8 +905,8 @@ class ItemServiceImplTest {
         CommentDto addCommentDto = CommentDto.builder().text("new comment").build();
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(bookingRepository.findFirstByItemIdAndBookerIdOrderByStart(itemId, ownerId))
                 .thenThrow(new NotFoundException("Пользователь с ID1 не бронировал вещь с ID4"));
 
@@ -897,7 +914,7 @@ class ItemServiceImplTest {
                 () -> itemService.addComment(ownerId, itemId, addCommentDto));
         assertThat(e.getMessage(), is("Пользователь с ID" + ownerId + " не бронировал вещь с ID" + itemId));
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(bookingRepository, times(1)).findFirstByItemIdAndBookerIdOrderByStart(itemId, ownerId);
         verify(commentRepository, never()).save(any());
         verify(commentMapper, never()).toComment(any());
@@ -907,8 +924,8 @@ class ItemServiceImplTest {
     @DisplayName("Добавление отзыва о вещи, бронирование не закончилось")
     void addCommentToItem_WhenUserIsAbleToAddCommentsButBookingsHaveNotEnded_ShouldThrowItemUnavailableException() {
         CommentDto addCommentDto = CommentDto.builder().text("new comment").build();
-        when(userRepository.findById(requesterId))
-                .thenReturn(Optional.of(requester));
+        when(userExistenceService.exists(requesterId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findFirstByItemIdAndBookerIdOrderByStart(itemId, requesterId))
@@ -918,7 +935,7 @@ class ItemServiceImplTest {
                 () -> itemService.addComment(requesterId, itemId, addCommentDto));
         assertThat(e.getMessage(), is("Пользователь может оставлять отзыв только после окончания срока аренды!"));
 
-        verify(userRepository, times(1)).findById(requesterId);
+        verify(userExistenceService, times(1)).exists(requesterId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(bookingRepository, times(1)).findFirstByItemIdAndBookerIdOrderByStart(itemId, requesterId);
         verify(commentRepository, never()).save(any());
@@ -929,14 +946,14 @@ class ItemServiceImplTest {
     @DisplayName("Добавление отзыва о вещи, пользователь не найден")
     void addCommentToItem_WhenUserNotFound_ShouldThrowItemUnavailableException() {
         CommentDto addCommentDto = CommentDto.builder().text("new comment").build();
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.addComment(ownerId, itemId, addCommentDto));
         assertThat(e.getMessage(), is("Пользователь с ID" + ownerId + " не найден"));
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, never()).findById(any());
         verify(bookingRepository, never()).findFirstByItemIdAndBookerIdOrderByStart(any(), any());
         verify(commentRepository, never()).save(any());
@@ -947,8 +964,8 @@ class ItemServiceImplTest {
     @DisplayName("Добавление отзыва о вещи, вещь не найдена")
     void addCommentToItem_WhenItemNotFound_ShouldThrowItemUnavailableException() {
         CommentDto addCommentDto = CommentDto.builder().text("new comment").build();
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(owner));
+        when(userExistenceService.exists(ownerId))
+                .thenReturn(true);
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.empty());
 
@@ -956,10 +973,14 @@ class ItemServiceImplTest {
                 () -> itemService.addComment(ownerId, itemId, addCommentDto));
         assertThat(e.getMessage(), is("Вещь с ID" + itemId + " не найдена"));
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(userExistenceService, times(1)).exists(ownerId);
         verify(itemRepository, times(1)).findById(itemId);
         verify(bookingRepository, never()).findFirstByItemIdAndBookerIdOrderByStart(any(), any());
         verify(commentRepository, never()).save(any());
         verify(commentMapper, never()).toComment(any());
     }
+
+    private ItemBookingSlot createSlot(Booking booking) {
+        return new ItemBookingSlot(itemId, booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+    }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemTrigramIndexTest {
+
+    private ItemTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemTrigramIndex();
+        index.add(1, "Дрель", "Аккумуляторная дрель", true);
+        index.add(2, "Отвёртка", "Аккумуляторная отвёртка", true);
+        index.add(3, "Аккумулятор", "Запасной", true);
+        index.add(4, "Дрель ударная", "Сетевая", false);
+    }
+
+    @Test
+    @DisplayName("Совпадения в названии идут раньше совпадений в описании")
+    void candidates_ShouldRankNameMatchesFirst() {
+        assertThat(index.candidates("АККУМ"), is(new int[]{3, 1, 2}));
+    }
+
+    @Test
+    @DisplayName("Недоступные вещи не попадают в кандидаты")
+    void candidates_ShouldSkipUnavailableItems() {
+        assertThat(index.candidates("дрель"), is(new int[]{1}));
+    }
+
+    @Test
+    @DisplayName("Изменение названия и доступности вещи")
+    void removeAndAdd_ShouldReplaceItemText() {
+        index.remove(4, "Дрель ударная", "Сетевая");
+        index.add(4, "Перфоратор", "Сетевая", true);
+
+        assertThat(index.candidates("дрель"), is(new int[]{1}));
+        assertThat(index.candidates("перфо"), is(new int[]{4}));
+    }
+
+    @Test
+    @DisplayName("Неизвестная триграмма")
+    void candidates_WhenTrigramUnknown_ShouldReturnEmptyArray() {
+        assertThat(index.candidates("пила"), is(new int[0]));
+    }
+
+    @Test
+    @DisplayName("Текст короче триграммы")
+    void candidates_WhenTextTooShort_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> index.candidates("др"));
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JpqlItemSearchEngineTest {
+
+    @Mock
+    private JpaItemRepository itemRepository;
+
+    @InjectMocks
+    private JpqlItemSearchEngine searchEngine;
+
+    @Test
+    @DisplayName("Поиск через LIKE, текст приводится к нижнему регистру")
+    void search_WhenTextUpperCase_ShouldSearchByLowerCasePattern() {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 10);
+
+        searchEngine.search("SEArcH", pageRequest);
+
+        verify(itemRepository, times(1)).searchInTitleAndDescription("%search%", pageRequest);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.controller.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+
+    @Mock
+    private JpaItemRepository itemRepository;
+
+    @InjectMocks
+    private TrigramItemSearchEngine searchEngine;
+
+    private Item drill;
+
+    private Item falseMatch;
+
+    @BeforeEach
+    void setUp() {
+        drill = createItem(1L, "Дрель", "Аккумуляторная дрель");
+        falseMatch = createItem(2L, "Дрессированная трель", "Не инструмент");
+        when(itemRepository.findAllByIdGreaterThanOrderById(any(), any()))
+                .thenReturn(List.of(drill, falseMatch));
+        searchEngine.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("Кандидаты загружаются одним запросом и перепроверяются")
+    void search_ShouldLoadCandidatesOnceAndDropFalseMatches() {
+        when(itemRepository.findResponsesByIdIn(List.of(1L, 2L))).thenReturn(List.of(response(drill), response(falseMatch)));
+
+        List<ItemDtoResponse> items = searchEngine.search("ДРЕЛЬ", OffsetPageRequest.of(0L, 10));
+
+        assertThat(searchEngine.isEnabled(), is(true));
+        assertThat(items, is(List.of(response(drill))));
+        verify(itemRepository, times(1)).findResponsesByIdIn(any());
+        verify(itemRepository, never()).searchInTitleAndDescription(any(), any());
+    }
+
+    @Test
+    @DisplayName("Изменённая вещь ищется по новому названию")
+    void onSaved_ShouldReindexItem() {
+        Item updated = createItem(1L, "Перфоратор", "Аккумуляторная дрель");
+        when(itemRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(response(updated)));
+
+        searchEngine.onSaved(drill, updated);
+        List<ItemDtoResponse> items = searchEngine.search("перфо", OffsetPageRequest.of(0L, 10));
+
+        assertThat(items, is(List.of(response(updated))));
+    }
+
+    @Test
+    @DisplayName("Короткий запрос выполняется через БД")
+    void search_WhenTextShorterThanTrigram_ShouldUseDatabase() {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 10);
+
+        searchEngine.search("Др", pageRequest);
+
+        verify(itemRepository, times(1)).searchInTitleAndDescription("%др%", pageRequest);
+        verify(itemRepository, never()).findResponsesByIdIn(any());
+    }
+
+    private Item createItem(Long id, String name, String description) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(true)
+                .build();
+    }
+
+    private ItemDtoResponse response(Item item) {
+        return new ItemDtoResponse(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.booking.service.BookingStatsCache;
+import ru.practicum.shareit.cache.EntityCacheService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.controller.dto.UserDtoResponse;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private JpaUserRepository userRepository;
+
+    @Mock
+    private UserMapper mapper;
+
+    @Mock
+    private EntityCacheService entityCache;
+
+    @Mock
+    private UserExistenceService userExistenceService;
+
+    @Mock
+    private BookingStatsCache statsCache;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new UserServiceImpl(userRepository, mapper, entityCache, userExistenceService, statsCache));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        userService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Таймер и размер результата публичного метода сервиса")
+    void getAll_ShouldRecordTimerAndResultSize() {
+        when(userRepository.findAllResponses()).thenReturn(List.of(
+                new UserDtoResponse(1L, "first", "first@mail.com"), new UserDtoResponse(2L, "second", "second@mail.com")));
+
+        userService.getAll();
+
+        assertThat(registry.get("shareit.service")
+                .tags("class", "UserServiceImpl", "method", "getAll", "exception", "none")
+                .timer().count(), is(1L));
+        assertThat(registry.get("shareit.result.size")
+                .tags("class", "UserServiceImpl", "method", "getAll", "layer", "service")
+                .summary().totalAmount(), is(2.0));
+    }
+
+    @Test
+    @DisplayName("Исключение сервиса попадает в тег таймера и счётчик ошибок")
+    void getUserById_WhenNotFound_ShouldCountError() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(1L));
+
+        assertThat(registry.get("shareit.service")
+                .tags("method", "getUserById", "exception", "NotFoundException")
+                .timer().count(), is(1L));
+        assertThat(registry.get("shareit.service.errors")
+                .tags("method", "getUserById", "exception", "NotFoundException")
+                .counter().count(), is(1.0));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.pageable;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Кодирование и декодирование курсора с датой")
+    void encodeAndDecode_WithTimestamp_ShouldReturnEqualCursor() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2030, 1, 2, 3, 4, 5, 6000), 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertThat(decoded, is(cursor));
+    }
+
+    @Test
+    @DisplayName("Кодирование и декодирование курсора без даты")
+    void encodeAndDecode_WithIdOnly_ShouldReturnEqualCursor() {
+        PageCursor decoded = PageCursor.decode(PageCursor.of(7L).encode());
+
+        assertThat(decoded.getId(), is(7L));
+        assertThat(decoded.getTimestamp(), nullValue());
+    }
+
+    @Test
+    @DisplayName("Декодирование некорректного курсора")
+    void decode_WhenCursorIsBroken_ShouldThrowValidationException() {
+        ValidationException e = assertThrows(ValidationException.class, () -> PageCursor.decode("broken"));
+
+        assertThat(e.getMessage(), is("Некорректный курсор пагинации: broken"));
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
@@ -109,11 +108,11 @@ class JpaItemRequestRepositoryTest {
     public void findAllByOrderByCreatedDesc_From0Size1_ShouldReturnListOfItemRequest() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
 
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(savedUser1.getId(),
+        List<Long> requestIds = itemRequestRepository.findAvailableRequestIds(savedUser1.getId(),
                 pageRequest);
 
-        assertThat(requests.getContent().size(), is(1));
-        assertThat(requests.getContent().get(0).getId(), is(savedRequest3.getId()));
+        assertThat(requestIds.size(), is(1));
+        assertThat(requestIds.get(0), is(savedRequest3.getId()));
     }
 
     @Test
@@ -122,12 +121,12 @@ class JpaItemRequestRepositoryTest {
     public void findAllByOrderByCreatedDesc_From0Size10_ShouldReturnListOfTwoItemRequest() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 10);
 
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(savedUser1.getId(),
+        List<Long> requestIds = itemRequestRepository.findAvailableRequestIds(savedUser1.getId(),
                 pageRequest);
 
-        assertThat(requests.getContent().size(), is(2));
-        assertThat(requests.getContent().get(0).getId(), is(savedRequest3.getId()));
-        assertThat(requests.getContent().get(1).getId(), is(savedRequest2.getId()));
+        assertThat(requestIds.size(), is(2));
+        assertThat(requestIds.get(0), is(savedRequest3.getId()));
+        assertThat(requestIds.get(1), is(savedRequest2.getId()));
     }
 
     @Test
@@ -135,11 +134,11 @@ class JpaItemRequestRepositoryTest {
     public void findAllByOrderByCreatedDesc_From1Size1_ShouldReturnListOfItemRequest() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(1L, 1);
 
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(savedUser1.getId(),
+        List<Long> requestIds = itemRequestRepository.findAvailableRequestIds(savedUser1.getId(),
                 pageRequest);
 
-        assertThat(requests.getContent().size(), is(1));
-        assertThat(requests.getContent().get(0).getId(), is(savedRequest2.getId()));
+        assertThat(requestIds.size(), is(1));
+        assertThat(requestIds.get(0), is(savedRequest2.getId()));
     }
 
     @Test
@@ -147,11 +146,24 @@ class JpaItemRequestRepositoryTest {
     public void findAllByOrderByCreatedDesc_From1Size1_ShouldReturnAllItemRequest() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 2);
 
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(savedUser1.getId(),
+        List<Long> requestIds = itemRequestRepository.findAvailableRequestIds(savedUser1.getId(),
                 pageRequest);
 
-        assertThat(requests.getContent().size(), is(2));
-        assertThat(requests.getContent().get(0).getId(), is(savedRequest3.getId()));
-        assertThat(requests.getContent().get(1).getId(), is(savedRequest2.getId()));
+        assertThat(requestIds.size(), is(2));
+        assertThat(requestIds.get(0), is(savedRequest3.getId()));
+        assertThat(requestIds.get(1), is(savedRequest2.getId()));
+    }
+
+    @Test
+    @DisplayName("Загрузка страницы запросов вместе с вещами по списку id")
+    public void findAllWithItemsByIdIn_ShouldReturnRequestsWithItemsOrderByCreatedDesc() {
+        List<ItemRequest> requests = itemRequestRepository.findAllWithItemsByIdIn(
+                List.of(savedRequest1.getId(), savedRequest4.getId()));
+
+        assertThat(requests.size(), is(2));
+        assertThat(requests.get(0).getId(), is(savedRequest4.getId()));
+        assertThat(requests.get(1).getId(), is(savedRequest1.getId()));
+        assertThat(requests.get(0).getItems().size(), is(0));
+        assertThat(requests.get(1).getItems().size(), is(1));
     }
 }
@@ -9,7 +9,6 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.controller.dto.ItemDto;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
@@ -20,6 +19,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.JpaItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.util.Collections;
 import java.util.List;
@@ -49,6 +49,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRequestMapper itemRequestMapper;
 
+    @Mock
+    private UserExistenceService userExistenceService;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -120,8 +123,8 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("Поиск всех запросов пользователя, пустой список")
     public void getAllItemRequestsFromUser_ShouldReturnEmptyList() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(itemRequestRepository.findRequestsFromUser(userId))
                 .thenReturn(Collections.emptyList());
         when(itemRequestMapper.toDtoResponseList(Collections.emptyList()))
@@ -132,7 +135,7 @@ class ItemRequestServiceImplTest {
         assertThat(requests, is(notNullValue()));
         assertThat(requests, is(Collections.emptyList()));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findRequestsFromUser(userId);
         verify(itemRequestMapper, times(1)).toDtoResponseList(Collections.emptyList());
     }
@@ -140,8 +143,8 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("Поиск всех запросов пользователя")
     public void getAllItemRequestsFromUser_ShouldReturnRequestList() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(itemRequestRepository.findRequestsFromUser(userId))
                 .thenReturn(List.of(itemRequest));
         when(itemRequestMapper.toDtoResponseList(List.of(itemRequest)))
@@ -154,7 +157,7 @@ class ItemRequestServiceImplTest {
         assertThat(requests, is(List.of(itemResponseDto)));
         assertThat(requests.size(), is(1));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findRequestsFromUser(userId);
         verify(itemRequestMapper, times(1)).toDtoResponseList(List.of(itemRequest));
     }
@@ -162,15 +165,15 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("Поиск всех запросов пользователя, пользователь не найден")
     public void getAllItemRequestsFromUser_NoUserFound_ShouldThrowNotFoundException() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemRequestService.getAllItemRequestsFromUser(userId));
 
         assertThat(e.getMessage(), is("Пользователь с ID1 не найден"));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, never()).findRequestsFromUser(userId);
         verify(itemRequestMapper, never()).toDtoResponseList(any());
     }
@@ -181,8 +184,8 @@ class ItemRequestServiceImplTest {
         Long from = 1L;
         Integer size = 1;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemRequestService.getAvailableItemRequests(userId, from, size));
@@ -190,7 +193,7 @@ class ItemRequestServiceImplTest {
         assertThat(e.getMessage(), is("Пользователь с ID1 не найден"));
 
         verify(itemRequestRepository, never()).findAllRequests();
-        verify(itemRequestRepository, never()).findAvailableRequests(userId, OffsetPageRequest.of(from, size));
+        verify(itemRequestRepository, never()).findAvailableRequestIds(userId, OffsetPageRequest.of(from, size));
         verify(itemRequestMapper, never()).toDtoResponseList(any());
     }
 
@@ -200,8 +203,8 @@ class ItemRequestServiceImplTest {
         Long from = null;
         Integer size = 1;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
 
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
                 () -> itemRequestService.getAvailableItemRequests(userId, from, size));
@@ -218,8 +221,8 @@ class ItemRequestServiceImplTest {
         Long from = 1L;
         Integer size = null;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
 
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
                 () -> itemRequestService.getAvailableItemRequests(userId, from, size));
@@ -236,17 +239,35 @@ class ItemRequestServiceImplTest {
         Long from = 1L;
         Integer size = 2;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
-        when(itemRequestRepository.findAvailableRequests(eq(userId), any()))
-                .thenReturn(Page.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(itemRequestRepository.findAvailableRequestIds(eq(userId), any()))
+                .thenReturn(List.of(itemRequest.getId()));
+        when(itemRequestRepository.findAllWithItemsByIdIn(List.of(itemRequest.getId())))
+                .thenReturn(List.of(itemRequest));
 
         itemRequestService.getAvailableItemRequests(userId, from, size);
 
         verify(itemRequestRepository, never()).findAllRequests();
-        verify(itemRequestRepository, times(1)).findAvailableRequests(eq(userId),
+        verify(itemRequestRepository, times(1)).findAvailableRequestIds(eq(userId),
                 any());
-        verify(itemRequestMapper, times(1)).toDtoResponseList(any());
+        verify(itemRequestRepository, times(1)).findAllWithItemsByIdIn(List.of(itemRequest.getId()));
+        verify(itemRequestMapper, times(1)).toDtoResponseList(List.of(itemRequest));
+    }
+
+    @Test
+    @DisplayName("Поиск доступных запросов, страница пуста")
+    public void getAvailableItemRequests_WhenPageIsEmpty_ShouldNotLoadItems() {
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
+        when(itemRequestRepository.findAvailableRequestIds(eq(userId), any()))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemRequestDtoResponse> requests = itemRequestService.getAvailableItemRequests(userId, 0L, 10);
+
+        assertThat(requests.size(), is(0));
+        verify(itemRequestRepository, never()).findAllWithItemsByIdIn(any());
+        verify(itemRequestMapper, never()).toDtoResponseList(any());
     }
 
     @Test
@@ -254,8 +275,8 @@ class ItemRequestServiceImplTest {
     public void getItemRequestById_UserNotFound_ShouldThrowNotFoundException() {
         long requestId = 1;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemRequestService.getItemRequestById(userId, requestId));
@@ -270,15 +291,15 @@ class ItemRequestServiceImplTest {
     public void getItemRequestById_RequestNotFound_ShouldThrowNotFoundException() {
         long requestId = 1;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemRequestService.getItemRequestById(userId, requestId));
 
         assertThat(e.getMessage(), is("Запрос с ID1 не найден"));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestMapper, never()).toResponse(any());
     }
 
@@ -289,8 +310,8 @@ class ItemRequestServiceImplTest {
         itemRequest.setId(1L);
 
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.of(itemRequest));
         when(itemRequestMapper.toResponse(itemRequest))
@@ -298,7 +319,7 @@ class ItemRequestServiceImplTest {
 
         itemRequestService.getItemRequestById(userId, requestId);
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
         verify(itemRequestMapper, times(1)).toResponse(itemRequest);
     }
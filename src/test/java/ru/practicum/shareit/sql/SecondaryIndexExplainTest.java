@@ -0,0 +1,91 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Планы горячих запросов на схеме из миграций: H2 должен идти по вторичным индексам, а не читать
+ * таблицу целиком. Имена индексов в плане H2 пишет заглавными буквами.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class SecondaryIndexExplainTest {
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Будущие бронирования арендатора идут по индексу арендатора и начала")
+    void bookerFutureBookings_ShouldUseBookerStartIndex() {
+        String plan = explain("SELECT b.id FROM bookings b WHERE b.booker_id = 1 "
+                + "AND b.start_date > TIMESTAMP '2024-01-01 00:00:00' ORDER BY b.start_date DESC");
+
+        assertThat(plan, allOf(containsString("BOOKINGS_BOOKER_START_IDX"), not(containsString(TABLE_SCAN))));
+    }
+
+    @Test
+    @DisplayName("Будущие бронирования владельца идут по индексу вещи и начала")
+    void ownerFutureBookings_ShouldUseItemStartIndex() {
+        String plan = explain("SELECT b.id FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.owner_id = 1 "
+                + "AND b.start_date > TIMESTAMP '2024-01-01 00:00:00' ORDER BY b.start_date DESC");
+
+        assertThat(plan, allOf(containsString("BOOKINGS_ITEM_START_IDX"), not(containsString(TABLE_SCAN))));
+    }
+
+    @Test
+    @DisplayName("Бронирования владельца фильтруются по owner_id без соединения с вещами")
+    void ownerBookingsByOwnerId_ShouldUseOwnerStartIndex() {
+        String plan = explain("SELECT b.id FROM bookings b WHERE b.owner_id = 1 "
+                + "AND b.start_date > TIMESTAMP '2024-01-01 00:00:00' ORDER BY b.start_date DESC");
+
+        assertThat(plan, allOf(containsString("BOOKINGS_OWNER_START_IDX"), not(containsString(TABLE_SCAN))));
+    }
+
+    @Test
+    @DisplayName("Страница вещей владельца по курсору идёт по индексу владельца и ID")
+    void ownerItemsAfterCursor_ShouldUseOwnerIdIndex() {
+        String plan = explain("SELECT i.id FROM items i WHERE i.owner_id = 1 AND i.id > 5 ORDER BY i.id");
+
+        assertThat(plan, allOf(containsString("ITEMS_OWNER_ID_IDX"), not(containsString(TABLE_SCAN))));
+    }
+
+    @Test
+    @DisplayName("Вещи по запросам читаются без полного прохода по таблице")
+    void itemsByRequests_ShouldNotScanTable() {
+        String plan = explain("SELECT i.id FROM items i WHERE i.request_id IN (1, 2, 3)");
+
+        assertThat(plan, not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    @DisplayName("Отзывы к вещи читаются без полного прохода по таблице")
+    void commentsByItem_ShouldNotScanTable() {
+        String plan = explain("SELECT c.id FROM comments c WHERE c.item_id = 1 ORDER BY c.created");
+
+        assertThat(plan, not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    @DisplayName("Собственные запросы пользователя читаются без полного прохода по таблице")
+    void requestsByRequester_ShouldNotScanTable() {
+        String plan = explain("SELECT r.id FROM requests r WHERE r.requester_id = 1 ORDER BY r.created DESC");
+
+        assertThat(plan, not(containsString(TABLE_SCAN)));
+    }
+
+    private String explain(String sql) {
+        return entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString();
+    }
+}
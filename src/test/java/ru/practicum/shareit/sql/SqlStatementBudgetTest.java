@@ -0,0 +1,202 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.JpaCommentRepository;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.JpaItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.JpaUserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Бюджет SQL-выражений на каждый эндпоинт чтения. Данных нарочно по пять штук на связь:
+ * ленивая загрузка по одной записи (N+1) выводит запрос за пределы бюджета. Перед каждым запросом
+ * кэш второго уровня очищается, иначе он отдаёт связанные сущности без SQL и прячет N+1.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementBudgetTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int FAN_OUT = 5;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private JpaItemRepository itemRepository;
+
+    @Autowired
+    private JpaItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private JpaBookingRepository bookingRepository;
+
+    @Autowired
+    private JpaCommentRepository commentRepository;
+
+    private User owner;
+
+    private User booker;
+
+    private final List<Item> items = new ArrayList<>();
+
+    private final List<ItemRequest> requests = new ArrayList<>();
+
+    private Booking booking;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("budget-owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("budget-booker@mail.com").build());
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < FAN_OUT; i++) {
+            authors.add(userRepository.save(User.builder().name("author" + i).email("budget-author" + i + "@mail.com").build()));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < FAN_OUT; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("budget request " + i)
+                    .requester(booker)
+                    .build());
+            requests.add(request);
+            Item item = itemRepository.save(Item.builder()
+                    .name("budget item " + i)
+                    .description("budget description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            items.add(item);
+            booking = bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(i + 1))
+                    .end(now.plusDays(i + 1).plusHours(1))
+                    .item(item)
+                    .ownerId(owner.getId())
+                    .booker(booker)
+                    .status(Status.APPROVED)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("budget comment " + i)
+                    .item(items.get(0))
+                    .author(authors.get(i))
+                    .created(now)
+                    .build());
+        }
+    }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Пользователь по ID")
+    void getUser() throws Exception {
+        mvc.perform(get("/users/{id}", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(1));
+    }
+
+    @Test
+    @DisplayName("Вещь владельца с отзывами и бронированиями")
+    void getItemByOwner() throws Exception {
+        mvc.perform(get("/items/{id}", items.get(0).getId()).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(4));
+    }
+
+    @Test
+    @DisplayName("Список вещей владельца")
+    void getOwnerItems() throws Exception {
+        mvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(4));
+    }
+
+    @Test
+    @DisplayName("Поиск вещей")
+    void searchItems() throws Exception {
+        mvc.perform(get("/items/search").param("text", "budget").header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(1));
+    }
+
+    @Test
+    @DisplayName("Бронирование по ID")
+    void getBooking() throws Exception {
+        mvc.perform(get("/bookings/{id}", booking.getId()).header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(4));
+    }
+
+    @Test
+    @DisplayName("Бронирования пользователя")
+    void getBookerBookings() throws Exception {
+        mvc.perform(get("/bookings").header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2));
+    }
+
+    @Test
+    @DisplayName("Бронирования вещей владельца")
+    void getOwnerBookings() throws Exception {
+        mvc.perform(get("/bookings/owner").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2));
+    }
+
+    @Test
+    @DisplayName("Собственные запросы пользователя")
+    void getOwnRequests() throws Exception {
+        mvc.perform(get("/requests").header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2));
+    }
+
+    @Test
+    @DisplayName("Запросы других пользователей")
+    void getAvailableRequests() throws Exception {
+        mvc.perform(get("/requests/all").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(3));
+    }
+
+    @Test
+    @DisplayName("Запрос по ID")
+    void getRequest() throws Exception {
+        mvc.perform(get("/requests/{id}", requests.get(0).getId()).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(3));
+    }
+}
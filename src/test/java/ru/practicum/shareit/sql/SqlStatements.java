@@ -0,0 +1,25 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Проверки числа SQL-выражений, которое {@link SqlStatementCountFilter} насчитал на запрос MockMvc.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static ResultMatcher atMost(long max) {
+        return result -> {
+            Object statements = result.getRequest().getAttribute(SqlStatementCountFilter.STATEMENTS_ATTRIBUTE);
+            assertThat("SQL-выражения не подсчитаны", statements, notNullValue());
+            assertThat(String.format("SQL-выражений на %s %s", result.getRequest().getMethod(),
+                    result.getRequest().getRequestURI()), (Long) statements, lessThanOrEqualTo(max));
+        };
+    }
+}
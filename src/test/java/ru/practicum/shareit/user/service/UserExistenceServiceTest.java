@@ -0,0 +1,62 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.JpaUserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceServiceTest {
+
+    @Mock
+    private JpaUserRepository userRepository;
+
+    @InjectMocks
+    private UserExistenceService userExistenceService;
+
+    private final long userId = 1L;
+
+    @Test
+    @DisplayName("Созданный пользователь проверяется без запроса к БД")
+    void exists_WhenUserCreated_ShouldNotQueryDatabase() {
+        userExistenceService.onCreated(User.builder().id(userId).build());
+
+        assertThat(userExistenceService.exists(userId), is(true));
+        verify(userRepository, never()).existsById(userId);
+    }
+
+    @Test
+    @DisplayName("Промах проверяется в БД и запоминается")
+    void exists_WhenUnknownButPresentInDatabase_ShouldQueryDatabaseOnce() {
+        when(userRepository.existsById(userId))
+                .thenReturn(true);
+
+        assertThat(userExistenceService.exists(userId), is(true));
+        assertThat(userExistenceService.exists(userId), is(true));
+        verify(userRepository, times(1)).existsById(userId);
+    }
+
+    @Test
+    @DisplayName("Удалённый пользователь не существует")
+    void exists_WhenUserDeleted_ShouldQueryDatabase() {
+        userExistenceService.onCreated(User.builder().id(userId).build());
+        when(userRepository.existsById(userId))
+                .thenReturn(false);
+
+        userExistenceService.onDeleted(userId);
+
+        assertThat(userExistenceService.exists(userId), is(false));
+        verify(userRepository, times(1)).existsById(userId);
+    }
+}
@@ -9,7 +9,11 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.service.BookingStatsCache;
+import ru.practicum.shareit.cache.EntityCacheService;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.controller.dto.UserDtoRequest;
 import ru.practicum.shareit.user.controller.dto.UserDtoResponse;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -37,6 +41,15 @@ class UserServiceImplTest {
     @Mock
     private JpaUserRepository userRepository;
 
+    @Mock
+    private EntityCacheService entityCache;
+
+    @Mock
+    private UserExistenceService userExistenceService;
+
+    @Mock
+    private BookingStatsCache statsCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -84,6 +97,7 @@ class UserServiceImplTest {
         verify(userMapper, times(1)).toUser(userDtoRequest);
         verify(userRepository, times(1)).save(user);
         verify(userMapper, times(1)).toResponse(user);
+        verify(userExistenceService, times(1)).onCreated(user);
     }
 
     @Test
@@ -221,15 +235,14 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Поиск всех пользователей")
     void getAll_ShouldReturnList() {
-        when(userRepository.findAll())
-                .thenReturn(List.of(user));
-        when(userMapper.toResponse(user))
-                .thenReturn(userDtoResponse);
+        when(userRepository.findAllResponses())
+                .thenReturn(List.of(userDtoResponse));
 
-        userService.getAll();
+        List<UserDtoResponse> users = userService.getAll();
 
-        verify(userRepository, times(1)).findAll();
-        verify(userMapper, times(1)).toResponse(user);
+        assertThat(users, is(List.of(userDtoResponse)));
+        verify(userRepository, times(1)).findAllResponses();
+        verify(userMapper, never()).toResponse(any());
     }
 
     @Test
@@ -241,5 +254,8 @@ class UserServiceImplTest {
 
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).delete(user);
+        verify(entityCache, times(1)).evictAfterCommit(Item.class, ItemRequest.class);
+        verify(userExistenceService, times(1)).onDeleted(userId);
+        verify(statsCache, times(1)).invalidateAll();
     }
 }